@@ -20,7 +20,10 @@ package me.RockinChaos.core;
 import me.RockinChaos.core.handlers.ConfigHandler;
 import me.RockinChaos.core.handlers.LogHandler;
 import me.RockinChaos.core.handlers.UpdateHandler;
+import me.RockinChaos.core.utils.MinecraftBindings;
+import me.RockinChaos.core.utils.ReflectionUtils;
 import me.RockinChaos.core.utils.ServerUtils;
+import me.RockinChaos.core.utils.StartupProfiler;
 import me.RockinChaos.core.utils.api.BungeeAPI;
 import me.RockinChaos.core.utils.api.ChanceAPI;
 import me.RockinChaos.core.utils.api.DependAPI;
@@ -47,10 +50,13 @@ public class Core {
      * @param prefix         - The visual display prefix for the plugin.
      */
     public Core(final @Nonnull JavaPlugin plugin, final @Nonnull File pluginFile, final @Nonnull String prefix) {
+        StartupProfiler.start();
         core = this;
         this.plugin = plugin;
         this.pluginFile = pluginFile;
-        core.getData().setPluginPrefix(prefix);
+        StartupProfiler.time("CoreData", () -> core.getData().setPluginPrefix(prefix));
+        StartupProfiler.time("ReflectionUtils", ReflectionUtils::warmUp);
+        StartupProfiler.time("MinecraftBindings", MinecraftBindings::resolve);
     }
 
     /**
@@ -64,7 +70,7 @@ public class Core {
 
     /**
      * Checks if ChaosCore is enabled.
-     * Server Version must be at least 1.8
+     * Server Version must be at least 1.8 and every NMS binding must be resolved.
      *
      * @return If ChaosCore is enabled.
      */
@@ -74,6 +80,11 @@ public class Core {
             ServerUtils.logSevere("detected incompatible server version.");
             ServerUtils.logSevere("only Minecraft 1.8 and above is supported... disabling...");
             getPlugin().getPluginLoader().disablePlugin(getPlugin());
+        } else if (!MinecraftBindings.isResolved()) {
+            ServerUtils.logSevere("detected incompatible server version.");
+            ServerUtils.logSevere("unable to resolve the NMS bindings " + String.join(", ", MinecraftBindings.getMissing()) + "... disabling...");
+            getPlugin().getPluginLoader().disablePlugin(getPlugin());
+            return false;
         }
         return isSupported;
     }
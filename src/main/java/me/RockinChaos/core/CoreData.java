@@ -18,6 +18,9 @@
 package me.RockinChaos.core;
 
 import me.RockinChaos.core.utils.ReflectionUtils;
+import me.RockinChaos.core.utils.StartupProfiler;
+import me.RockinChaos.core.utils.sql.Migration;
+import me.RockinChaos.core.utils.sql.TableIndex;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -39,6 +42,9 @@ public class CoreData {
     private boolean ignoreErrors = false;
     private Runnable runnableAlter;
     private Runnable runnableCreate;
+    private String tablesVersion;
+    private final List<Migration> migrations = new ArrayList<>();
+    private final List<Class<?>> dataClasses = new ArrayList<>();
     private Map<String, List<Object>> databaseData;
     private boolean dataTags = false;
     private boolean isStarted = false;
@@ -48,6 +54,21 @@ public class CoreData {
     private String sqlDatabase;
     private String sqlUser;
     private String sqlPass;
+    private int sqlPoolSize = 10;
+    private long sqlPoolValidation = 30000L;
+    private long sqlPoolLifetime = 1800000L;
+    private int sqlBatchSize = 100;
+    private long sqlBatchInterval = 20L;
+    private int sqlQueueSize = 1000;
+    private int sqlFetchSize = 500;
+    private int sqliteCacheSize = 8192;
+    private long sqliteMmapSize = 134217728L;
+    private int sqliteBusyTimeout = 5000;
+    private long sqliteCheckpointInterval = 6000L;
+    private double tickBudget = 5.0D;
+    private boolean virtualThreads = false;
+    private boolean parallelStartup = false;
+    private int asyncPoolSize = 4;
     private String tablePrefix;
     private List<String> permissions = new ArrayList<>();
     private List<String> languages = new ArrayList<>();
@@ -80,6 +101,9 @@ public class CoreData {
      */
     public void setStarted(final boolean bool) {
         this.isStarted = bool;
+        if (bool) {
+            StartupProfiler.report();
+        }
     }
 
     /**
@@ -211,6 +235,62 @@ public class CoreData {
 
     }
 
+    /**
+     * Gets the version of the CreateTables and AlterTables Runnables for the Database.
+     *
+     * @return The version of the table runnables, null to use the plugin version.
+     */
+    public @Nullable String getTablesVersion() {
+        return this.tablesVersion;
+    }
+
+    /**
+     * Sets the version of the CreateTables and AlterTables Runnables for the Database.
+     * Under the schema history the runnables run once for every version, changing it reruns them on the next start.
+     *
+     * @param tablesVersion - The version of the table runnables, null to use the plugin version.
+     */
+    public void setTablesVersion(final @Nullable String tablesVersion) {
+        this.tablesVersion = tablesVersion;
+    }
+
+    /**
+     * Gets the schema migrations for the Database.
+     *
+     * @return The registered schema migrations.
+     */
+    public @Nonnull List<Migration> getMigrations() {
+        return this.migrations;
+    }
+
+    /**
+     * Registers schema migrations for the Database.
+     * When migrations are registered, the CreateTables and AlterTables runnables only run once for every {@link #getTablesVersion()}.
+     *
+     * @param migrations - The schema migrations to be registered.
+     */
+    public void addMigrations(final @Nonnull Migration... migrations) {
+        this.migrations.addAll(Arrays.asList(migrations));
+    }
+
+    /**
+     * Gets the data classes declaring table indexes for the Database.
+     *
+     * @return The registered data classes.
+     */
+    public @Nonnull List<Class<?>> getDataClasses() {
+        return this.dataClasses;
+    }
+
+    /**
+     * Registers data classes annotated with {@link TableIndex}, their indexes are created by the schema migration.
+     *
+     * @param dataClasses - The data classes to be registered.
+     */
+    public void addDataClasses(final @Nonnull Class<?>... dataClasses) {
+        this.dataClasses.addAll(Arrays.asList(dataClasses));
+    }
+
     /**
      * Gets the UpdateConfig Runnable for the Database.
      *
@@ -441,6 +521,278 @@ public class CoreData {
         this.sqlPass = str;
     }
 
+    /**
+     * Gets the maximum number of pooled MySQL connections.
+     *
+     * @return The maximum number of pooled MySQL connections.
+     */
+    public int getSQLPoolSize() {
+        return this.sqlPoolSize;
+    }
+
+    /**
+     * Sets the maximum number of pooled MySQL connections.
+     *
+     * @param size - The maximum number of pooled MySQL connections.
+     */
+    public void setSQLPoolSize(final int size) {
+        this.sqlPoolSize = Math.max(1, size);
+    }
+
+    /**
+     * Gets the time in milliseconds a pooled connection may sit idle before it is validated on borrow.
+     *
+     * @return The idle validation time in milliseconds.
+     */
+    public long getSQLPoolValidation() {
+        return this.sqlPoolValidation;
+    }
+
+    /**
+     * Sets the time in milliseconds a pooled connection may sit idle before it is validated on borrow.
+     *
+     * @param millis - The idle validation time in milliseconds.
+     */
+    public void setSQLPoolValidation(final long millis) {
+        this.sqlPoolValidation = Math.max(0L, millis);
+    }
+
+    /**
+     * Gets the maximum lifetime in milliseconds of a pooled connection.
+     *
+     * @return The maximum lifetime in milliseconds, 0 if connections never expire.
+     */
+    public long getSQLPoolLifetime() {
+        return this.sqlPoolLifetime;
+    }
+
+    /**
+     * Sets the maximum lifetime in milliseconds of a pooled connection.
+     *
+     * @param millis - The maximum lifetime in milliseconds, 0 if connections should never expire.
+     */
+    public void setSQLPoolLifetime(final long millis) {
+        this.sqlPoolLifetime = Math.max(0L, millis);
+    }
+
+    /**
+     * Gets the number of queued database writes that triggers an immediate flush.
+     *
+     * @return The database write batch size.
+     */
+    public int getSQLBatchSize() {
+        return this.sqlBatchSize;
+    }
+
+    /**
+     * Sets the number of queued database writes that triggers an immediate flush.
+     *
+     * @param size - The database write batch size.
+     */
+    public void setSQLBatchSize(final int size) {
+        this.sqlBatchSize = Math.max(1, size);
+    }
+
+    /**
+     * Gets the interval in ticks between flushes of the queued database writes.
+     *
+     * @return The database write flush interval in ticks.
+     */
+    public long getSQLBatchInterval() {
+        return this.sqlBatchInterval;
+    }
+
+    /**
+     * Sets the interval in ticks between flushes of the queued database writes.
+     *
+     * @param ticks - The database write flush interval in ticks.
+     */
+    public void setSQLBatchInterval(final long ticks) {
+        this.sqlBatchInterval = Math.max(1L, ticks);
+    }
+
+    /**
+     * Gets the maximum number of async database queries waiting to run before the submitting thread runs them itself.
+     *
+     * @return The async database query queue size.
+     */
+    public int getSQLQueueSize() {
+        return this.sqlQueueSize;
+    }
+
+    /**
+     * Sets the maximum number of async database queries waiting to run before the submitting thread runs them itself.
+     *
+     * @param size - The async database query queue size.
+     */
+    public void setSQLQueueSize(final int size) {
+        this.sqlQueueSize = Math.max(1, size);
+    }
+
+    /**
+     * Gets the number of rows fetched from the database at a time when streaming a query.
+     *
+     * @return The database fetch size.
+     */
+    public int getSQLFetchSize() {
+        return this.sqlFetchSize;
+    }
+
+    /**
+     * Sets the number of rows fetched from the database at a time when streaming a query.
+     *
+     * @param size - The database fetch size.
+     */
+    public void setSQLFetchSize(final int size) {
+        this.sqlFetchSize = Math.max(1, size);
+    }
+
+    /**
+     * Gets the size of the SQLite page cache, per connection.
+     *
+     * @return The SQLite cache size in kibibytes.
+     */
+    public int getSQLiteCacheSize() {
+        return this.sqliteCacheSize;
+    }
+
+    /**
+     * Sets the size of the SQLite page cache, per connection.
+     *
+     * @param size - The SQLite cache size in kibibytes.
+     */
+    public void setSQLiteCacheSize(final int size) {
+        this.sqliteCacheSize = Math.max(0, size);
+    }
+
+    /**
+     * Gets the maximum number of bytes of the SQLite database file that are memory-mapped.
+     *
+     * @return The SQLite memory-mapped size in bytes, 0 if memory-mapped I/O is disabled.
+     */
+    public long getSQLiteMmapSize() {
+        return this.sqliteMmapSize;
+    }
+
+    /**
+     * Sets the maximum number of bytes of the SQLite database file that are memory-mapped.
+     *
+     * @param size - The SQLite memory-mapped size in bytes, 0 to disable memory-mapped I/O.
+     */
+    public void setSQLiteMmapSize(final long size) {
+        this.sqliteMmapSize = Math.max(0L, size);
+    }
+
+    /**
+     * Gets the time a SQLite connection waits on a locked database before failing.
+     *
+     * @return The SQLite busy timeout in milliseconds.
+     */
+    public int getSQLiteBusyTimeout() {
+        return this.sqliteBusyTimeout;
+    }
+
+    /**
+     * Sets the time a SQLite connection waits on a locked database before failing.
+     *
+     * @param timeout - The SQLite busy timeout in milliseconds.
+     */
+    public void setSQLiteBusyTimeout(final int timeout) {
+        this.sqliteBusyTimeout = Math.max(0, timeout);
+    }
+
+    /**
+     * Gets the interval at which the SQLite write-ahead log is checkpointed into the database file.
+     *
+     * @return The SQLite checkpoint interval in ticks, 0 if the log is only checkpointed automatically.
+     */
+    public long getSQLiteCheckpointInterval() {
+        return this.sqliteCheckpointInterval;
+    }
+
+    /**
+     * Sets the interval at which the SQLite write-ahead log is checkpointed into the database file.
+     *
+     * @param interval - The SQLite checkpoint interval in ticks, 0 to only checkpoint the log automatically.
+     */
+    public void setSQLiteCheckpointInterval(final long interval) {
+        this.sqliteCheckpointInterval = Math.max(0L, interval);
+    }
+
+    /**
+     * Gets the time the shared work queue may spend running queued units each tick.
+     *
+     * @return The tick budget in milliseconds.
+     */
+    public double getTickBudget() {
+        return this.tickBudget;
+    }
+
+    /**
+     * Sets the time the shared work queue may spend running queued units each tick.
+     * At least one queued unit is always run per tick regardless of the budget.
+     *
+     * @param budget - The tick budget in milliseconds.
+     */
+    public void setTickBudget(final double budget) {
+        this.tickBudget = Math.max(0.0D, budget);
+    }
+
+    /**
+     * Checks if blocking async work should run on virtual threads when the JVM supports them.
+     *
+     * @return If virtual threads are enabled.
+     */
+    public boolean isVirtualThreads() {
+        return this.virtualThreads;
+    }
+
+    /**
+     * Sets if blocking async work should run on virtual threads when the JVM supports them (Java 21+).
+     * This also moves {@link me.RockinChaos.core.utils.SchedulerUtils#runAsync(Runnable)} off the server's async pool.
+     *
+     * @param bool - If virtual threads are enabled.
+     */
+    public void setVirtualThreads(final boolean bool) {
+        this.virtualThreads = bool;
+    }
+
+    /**
+     * Gets the number of platform threads running blocking async work when virtual threads are unavailable.
+     *
+     * @return The blocking pool size.
+     */
+    public int getAsyncPoolSize() {
+        return this.asyncPoolSize;
+    }
+
+    /**
+     * Sets the number of platform threads running blocking async work when virtual threads are unavailable.
+     *
+     * @param size - The blocking pool size.
+     */
+    public void setAsyncPoolSize(final int size) {
+        this.asyncPoolSize = Math.max(1, size);
+    }
+
+    /**
+     * Checks if independent startup phases run concurrently on a startup pool.
+     *
+     * @return If parallel startup is enabled.
+     */
+    public boolean isParallelStartup() {
+        return this.parallelStartup;
+    }
+
+    /**
+     * Sets if independent startup phases passed to {@link StartupProfiler#runParallel(Map)} run concurrently on a startup pool.
+     *
+     * @param bool - If parallel startup is enabled.
+     */
+    public void setParallelStartup(final boolean bool) {
+        this.parallelStartup = bool;
+    }
+
     /**
      * Gets the list of official ChaosCore plugins.
      * These are plugins developed by @RockinChaos.
@@ -19,6 +19,7 @@ package me.RockinChaos.core.handlers;
 
 import me.RockinChaos.core.Core;
 import me.RockinChaos.core.utils.ServerUtils;
+import me.RockinChaos.core.utils.StartupProfiler;
 import me.RockinChaos.core.utils.StringUtils;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
@@ -54,6 +55,13 @@ public class ConfigHandler {
      * Copies files into memory.
      */
     public void copyFiles() {
+        StartupProfiler.time("ConfigHandler.copyFiles", this::copyConfigs);
+    }
+
+    /**
+     * Copies each registered configuration file into memory.
+     */
+    private void copyConfigs() {
         final Map<String, Integer> configs = Core.getCore().getData().getConfigs();
         for (String config : configs.keySet()) {
             if (config.equalsIgnoreCase("lang.yml")) {
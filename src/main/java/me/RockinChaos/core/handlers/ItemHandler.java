@@ -21,8 +21,6 @@ import com.mojang.authlib.GameProfile;
 import com.mojang.authlib.properties.Property;
 import me.RockinChaos.core.Core;
 import me.RockinChaos.core.utils.*;
-import me.RockinChaos.core.utils.ReflectionUtils.MinecraftField;
-import me.RockinChaos.core.utils.ReflectionUtils.MinecraftMethod;
 import me.RockinChaos.core.utils.api.LegacyAPI;
 import me.RockinChaos.core.utils.types.Altered;
 import me.RockinChaos.core.utils.types.Monster;
@@ -971,7 +969,7 @@ public class ItemHandler {
         if (slot == 0) {
             delay += 1L;
         }
-        SchedulerUtils.runLater(delay, () -> {
+        SchedulerUtils.runPlayerLater(player, delay, () -> {
             if (!player.isOnline()) {
                 return;
             }
@@ -1170,20 +1168,18 @@ public class ItemHandler {
         synchronized ("CC_NBT") {
             if (Core.getCore().getData().dataTagsEnabled() && item != null && item.getType() != Material.AIR) {
                 try {
-                    Class<?> craftItemStack = ReflectionUtils.getCraftBukkitClass("inventory.CraftItemStack");
-                    Object nmsItem = ReflectionUtils.getMethod(craftItemStack, "asNMSCopy", ItemStack.class).invoke(null, item);
+                    Object nmsItem = MinecraftBindings.AS_NMS_COPY.invoke(null, item);
                     if (ServerUtils.hasUpdate("1_20_5")) {
-                        Object customDataType = ReflectionUtils.getField(ReflectionUtils.getMinecraftClass("DataComponents"), MinecraftField.CustomData.getField()).get(null);
-                        Object customData = ReflectionUtils.getMethod(ReflectionUtils.getMinecraftClass("CustomData"), MinecraftMethod.of.getMethod(), ReflectionUtils.getMinecraftClass("NBTTagCompound")).invoke(new Object[]{null}, tag);
-                        Object builder = ReflectionUtils.getMethod(ReflectionUtils.getMinecraftClass("DataComponentPatch"), MinecraftMethod.builder.getMethod()).invoke(new Object[]{null});
-                        ReflectionUtils.getMethod(builder.getClass(), MinecraftMethod.set.getMethod(), ReflectionUtils.getMinecraftClass("DataComponentType"), Object.class).invoke(builder, customDataType, customData);
-                        Object componentPatch = ReflectionUtils.getMethod(builder.getClass(), MinecraftMethod.build.getMethod()).invoke(builder);
-                        ReflectionUtils.getMethod(nmsItem.getClass(), MinecraftMethod.applyComponentsAndValidate.getMethod(), componentPatch.getClass()).invoke(nmsItem, componentPatch);
-                        return (ItemStack) ReflectionUtils.getMethod(craftItemStack, "asCraftMirror", ReflectionUtils.getMinecraftClass("ItemStack")).invoke(null, nmsItem);
+                        Object customDataType = MinecraftBindings.CUSTOM_DATA.get(null);
+                        Object customData = MinecraftBindings.CUSTOM_DATA_OF.invoke(null, tag);
+                        Object builder = MinecraftBindings.PATCH_BUILDER.invoke(null);
+                        MinecraftBindings.PATCH_BUILDER_SET.invoke(builder, customDataType, customData);
+                        Object componentPatch = MinecraftBindings.PATCH_BUILDER_BUILD.invoke(builder);
+                        MinecraftBindings.ITEM_APPLY_COMPONENTS.invoke(nmsItem, componentPatch);
                     } else {
-                        ReflectionUtils.getMethod(nmsItem.getClass(), MinecraftMethod.setTag.getMethod(), tag.getClass()).invoke(nmsItem, tag);
-                        return (ItemStack) ReflectionUtils.getMethod(ReflectionUtils.getCraftBukkitClass("inventory.CraftItemStack"), "asCraftMirror", nmsItem.getClass()).invoke(null, nmsItem);
+                        MinecraftBindings.ITEM_SET_TAG.invoke(nmsItem, tag);
                     }
+                    return (ItemStack) MinecraftBindings.AS_CRAFT_MIRROR.invoke(null, nmsItem);
                 } catch (ConcurrentModificationException ignored) {
                 } catch (Exception e) {
                     if (e.getCause() != null) {
@@ -1211,25 +1207,21 @@ public class ItemHandler {
             if (Core.getCore().getData().dataTagsEnabled() && item != null && item.getType() != Material.AIR) {
                 try {
                     Object tag = null;
-                    Class<?> itemClass = ReflectionUtils.getMinecraftClass("ItemStack");
                     final ItemStack itemCopy = item.clone();
-                    Object nms = ReflectionUtils.getMethod(ReflectionUtils.getCraftBukkitClass("inventory.CraftItemStack"), "asNMSCopy", ItemStack.class).invoke(null, itemCopy);
+                    Object nms = MinecraftBindings.AS_NMS_COPY.invoke(null, itemCopy);
                     if (ServerUtils.hasUpdate("1_20_5")) {
-                        Object componentMap = ReflectionUtils.getMethod(itemClass, MinecraftMethod.getComponents.getMethod()).invoke(nms);
-                        Object customDataType = ReflectionUtils.getField(ReflectionUtils.getMinecraftClass("DataComponents"), MinecraftField.CustomData.getField()).get(null);
-                        Object customDataOptional = ReflectionUtils.getMethod(ReflectionUtils.getMinecraftClass(ServerUtils.hasUpdate("1_21_5") ? "DataComponentGetter" : "DataComponentMap"), MinecraftMethod.get.getMethod(), ReflectionUtils.getMinecraftClass("DataComponentType")).invoke(componentMap, customDataType);
-                        if (customDataOptional != null) {
-                            tag = ReflectionUtils.getMethod(customDataOptional.getClass(), MinecraftMethod.copyTag.getMethod()).invoke(customDataOptional);
+                        Object componentMap = MinecraftBindings.ITEM_GET_COMPONENTS.invoke(nms);
+                        Object customData = MinecraftBindings.COMPONENTS_GET.invoke(componentMap, MinecraftBindings.CUSTOM_DATA.get(null));
+                        if (customData != null) {
+                            tag = MinecraftBindings.CUSTOM_DATA_COPY_TAG.invoke(customData);
                         }
                     } else {
-                        tag = ReflectionUtils.getMethod(itemClass, MinecraftMethod.getTag.getMethod()).invoke(nms);
+                        tag = MinecraftBindings.ITEM_GET_TAG.invoke(nms);
                     }
                     if (tag != null) {
                         StringBuilder returnData = new StringBuilder();
-                        final String getStringMethod = MinecraftMethod.getString.getMethod();
-                        final Class<?> tagClass = tag.getClass();
                         for (String dataString : dataList) {
-                            String data = (String) (ServerUtils.hasUpdate("1_21_5") ? ReflectionUtils.getMethod(tagClass, getStringMethod, String.class, String.class).invoke(tag, dataString, null) : ReflectionUtils.getMethod(tagClass, getStringMethod, String.class).invoke(tag, dataString));
+                            String data = (String) (MinecraftBindings.TAG_STRING_DEFAULT ? MinecraftBindings.TAG_GET_STRING.invoke(tag, dataString, null) : MinecraftBindings.TAG_GET_STRING.invoke(tag, dataString));
                             if (data != null && !data.isEmpty()) {
                                 returnData.append(data).append(" ");
                             }
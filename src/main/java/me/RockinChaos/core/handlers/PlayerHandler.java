@@ -386,7 +386,7 @@ public class PlayerHandler {
      * @param delay  - The ticks to wait before updating the inventory.
      */
     public static void updateInventory(final @Nonnull Player player, final @Nullable ItemStack item, final long delay) {
-        SchedulerUtils.runAsyncLater(delay, () -> {
+        SchedulerUtils.runForEntityLater(player, delay, () -> {
             try {
                 /* Updates Main Inventory Slot(s) */
                 for (int i = 0; i < 36; i++) {
@@ -862,6 +862,20 @@ public class PlayerHandler {
         }
     }
 
+    /**
+     * Executes an input of methods for the currently online players, spread across ticks within the shared tick budget.
+     * Each player is handled on the thread owning that player, players that log out before they are handled are skipped.
+     *
+     * @param input - The methods to be executed.
+     */
+    public static void forOnlinePlayersBudgeted(final @Nonnull Consumer<Player> input) {
+        forOnlinePlayers(player -> SchedulerUtils.runBudgeted(player, () -> {
+            if (player.isOnline()) {
+                input.accept(player);
+            }
+        }));
+    }
+
     /**
      * Executes an input of methods for the currently offline players.
      *
@@ -67,7 +67,7 @@ public class UpdateHandler {
         this.devVersion = this.localeVersion.equals("${project.version}");
         this.buildNumber = this.versionExact.split("-b")[1];
         this.updatesAllowed = updatesAllowed;
-        SchedulerUtils.runAsync(() -> this.checkUpdates(plugin.getServer().getConsoleSender(), true));
+        SchedulerUtils.runBlocking(() -> this.checkUpdates(plugin.getServer().getConsoleSender(), true));
     }
 
     /**
@@ -111,7 +111,7 @@ public class UpdateHandler {
                 uri = this.HOST.replace("repos/", "").replace("api.", "").replace("latest", "download/" + "v" + this.latestVersion + "/" + this.NAME.toLowerCase() + ".jar") + "?_=" + System.currentTimeMillis();
             }
             final File upgradeFile = new File(Core.getCore().getPlugin().getDataFolder() + "/" + this.NAME + ".jar" + ".tmp");
-            SchedulerUtils.runAsync(() -> {
+            SchedulerUtils.runBlocking(() -> {
                 try {
                     final HttpURLConnection httpConnection = (HttpURLConnection) new URL(uri).openConnection();
                     httpConnection.setRequestProperty("User-Agent", "Mozilla/5.0...");
@@ -0,0 +1,139 @@
+/*
+ * ChaosCore
+ * Copyright (C) CraftationGaming <https://www.craftationgaming.com/>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package me.RockinChaos.core.utils;
+
+import me.RockinChaos.core.Core;
+import me.RockinChaos.core.CoreData;
+
+import javax.annotation.Nonnull;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs blocking work such as HTTP requests and dependency lookups off the server's async pool.
+ * When virtual threads are enabled and the JVM supports them (Java 21+) each task is given its own virtual thread,
+ * otherwise tasks run on a bounded pool of daemon platform threads.
+ * <p>
+ * Virtual thread support is detected reflectively so that the plugin still runs on Java 8.
+ */
+final class BlockingExecutor implements Executor {
+    private static final MethodHandle VIRTUAL_EXECUTOR = findVirtualExecutor();
+    private ExecutorService executor;
+    private boolean virtual;
+
+    /**
+     * Runs the task on the blocking executor, logging any exception it throws.
+     *
+     * @param runnable - The task to be performed.
+     */
+    @Override
+    public void execute(final @Nonnull Runnable runnable) {
+        final Runnable task = () -> {
+            try {
+                runnable.run();
+            } catch (Exception e) {
+                ServerUtils.logSevere("{SchedulerUtils} A blocking task failed to complete.");
+                ServerUtils.sendSevereTrace(e);
+            }
+        };
+        try {
+            this.getExecutor().execute(task);
+        } catch (RejectedExecutionException e) {
+            this.shutdown();
+            this.getExecutor().execute(task);
+        }
+    }
+
+    /**
+     * Checks if tasks are run on virtual threads.
+     *
+     * @return If the executor is backed by virtual threads.
+     */
+    synchronized boolean isVirtual() {
+        this.getExecutor();
+        return this.virtual;
+    }
+
+    /**
+     * Stops accepting tasks, the tasks already submitted are allowed to finish.
+     * The executor is recreated, re-reading the configuration, the next time a task is submitted.
+     */
+    synchronized void shutdown() {
+        if (this.executor != null) {
+            this.executor.shutdown();
+            this.executor = null;
+        }
+    }
+
+    /**
+     * Gets the active executor, creating it if necessary.
+     *
+     * @return The active executor.
+     */
+    private synchronized @Nonnull ExecutorService getExecutor() {
+        if (this.executor == null) {
+            final CoreData coreData = Core.getCore().getData();
+            if (coreData.isVirtualThreads() && VIRTUAL_EXECUTOR != null) {
+                try {
+                    this.executor = (ExecutorService) VIRTUAL_EXECUTOR.invokeExact();
+                    this.virtual = true;
+                    return this.executor;
+                } catch (Throwable t) {
+                    ServerUtils.logDebug("{SchedulerUtils} Failed to create the virtual thread executor, falling back to platform threads.");
+                    ServerUtils.sendDebugTrace(new Exception(t));
+                }
+            } else if (coreData.isVirtualThreads()) {
+                ServerUtils.logDebug("{SchedulerUtils} Virtual threads are not supported by this JVM, falling back to platform threads.");
+            }
+            final int threads = coreData.getAsyncPoolSize();
+            final String name = Core.getCore().getPlugin().getName() + "-Blocking-";
+            final AtomicInteger counter = new AtomicInteger();
+            final ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+                final Thread thread = new Thread(runnable, name + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            pool.allowCoreThreadTimeOut(true);
+            this.executor = pool;
+            this.virtual = false;
+        }
+        return this.executor;
+    }
+
+    /**
+     * Finds the virtual thread per task executor factory.
+     *
+     * @return The factory handle, null if the JVM does not support virtual threads.
+     */
+    private static MethodHandle findVirtualExecutor() {
+        try {
+            return MethodHandles.publicLookup().findStatic(Executors.class, "newVirtualThreadPerTaskExecutor", MethodType.methodType(ExecutorService.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+    }
+}
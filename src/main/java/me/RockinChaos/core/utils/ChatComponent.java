@@ -19,7 +19,6 @@ package me.RockinChaos.core.utils;
 
 import com.google.gson.Gson;
 import com.google.gson.JsonObject;
-import me.RockinChaos.core.utils.ReflectionUtils.MinecraftField;
 import me.RockinChaos.core.utils.ReflectionUtils.MinecraftMethod;
 import org.bukkit.ChatColor;
 import org.bukkit.entity.Player;
@@ -54,14 +53,9 @@ public abstract class ChatComponent {
             if (ServerUtils.hasUpdate("1_21_6")) { // IChatBaseComponent$ChatSerializer no longer exists in 1.21.6 and there is no feasible option for parsing JSON now. There's no real point in continuing to write reflections for this.
                 player.spigot().sendMessage(net.md_5.bungee.chat.ComponentSerializer.parse(text.toString()));
             } else {
-                final Object craftPlayer = ReflectionUtils.getEntity(player);
-                if (craftPlayer != null) {
-                    final Object connection = ReflectionUtils.getFieldValue(craftPlayer, MinecraftField.PlayerConnection.getField());
-                    final ReflectionUtils.MethodInvoker sendPacket = ReflectionUtils.getMethod(connection.getClass(), MinecraftMethod.sendPacket.getMethod(), ReflectionUtils.getMinecraftClass("Packet"));
-                    final Object textComponent = getComponent(text, player);
-                    final Object packet = createPacket(textComponent, player);
-                    sendPacket.invoke(connection, packet);
-                }
+                final Object textComponent = getComponent(text, player);
+                final Object packet = createPacket(textComponent, player);
+                ReflectionUtils.sendPacket(player, packet);
             }
         } catch (Exception e) {
             player.sendMessage(text.getText());
@@ -76,42 +70,16 @@ public abstract class ChatComponent {
      * @return the newly created IChatBaseComponent.
      */
     private static @Nonnull Object getComponent(final TextSection text, final @Nonnull Player player) {
-        final Class<?> serializer = ReflectionUtils.getMinecraftClass("IChatBaseComponent$ChatSerializer");
         if (ServerUtils.hasUpdate("1_20_5")) {
             final Object craftServer = ReflectionUtils.invokeMethod("getHandle", player.getServer());
             final Object mineServer = ReflectionUtils.invokeMethod(MinecraftMethod.getServer.getMethod(), craftServer);
             final Object registryAccess = ReflectionUtils.invokeMethod(MinecraftMethod.registryAccess.getMethod(), mineServer);
-            return ReflectionUtils.getMethod(serializer, "a", String.class, ReflectionUtils.getMinecraftClass("HolderLookup$a")).invoke(null, text.toString(), registryAccess);
+            return MinecraftBindings.CHAT_SERIALIZER.invoke(null, text.toString(), registryAccess);
         } else {
-            return ReflectionUtils.getMethod(serializer, "a", String.class).invoke(null, text.toString());
+            return MinecraftBindings.CHAT_SERIALIZER.invoke(null, text.toString());
         }
     }
 
-    /**
-     * Gets the Packet Constructor.
-     *
-     * @param player - The Player being referenced.
-     * @return The Packet Constructor.
-     */
-    private static @Nonnull ReflectionUtils.ConstructorInvoker getPacketConstructor(final @Nonnull Player player) {
-        final Class<?> baseComponent = ReflectionUtils.getMinecraftClass("IChatBaseComponent");
-        final Class<?> chatPacket = ReflectionUtils.getMinecraftClass((ServerUtils.hasUpdate("1_19") ? "ClientboundSystemChatPacket" : "PacketPlayOutChat"));
-        ReflectionUtils.ConstructorInvoker packetConstructor;
-        if (ServerUtils.hasUpdate("1_20_5") || ServerUtils.hasUpdate("1_19")) {
-            try {
-                packetConstructor = ReflectionUtils.getConstructor(chatPacket, baseComponent, int.class);
-            } catch (Exception e) {
-                packetConstructor = ReflectionUtils.getConstructor(chatPacket, baseComponent, boolean.class);
-            }
-        } else if (ServerUtils.hasUpdate("1_16")) {
-            final Class<?> messageType = ReflectionUtils.getMinecraftClass("ChatMessageType");
-            packetConstructor = ReflectionUtils.getConstructor(chatPacket, baseComponent, messageType, player.getUniqueId().getClass());
-        } else {
-            packetConstructor = ReflectionUtils.getConstructor(chatPacket, baseComponent);
-        }
-        return packetConstructor;
-    }
-
     /**
      * Creates the Chat Packet with the initialized TextComponent value.
      *
@@ -120,25 +88,7 @@ public abstract class ChatComponent {
      * @return The newly created Chat Packet instance.
      */
     private static @Nonnull Object createPacket(final @Nonnull Object textComponent, final @Nonnull Player player) {
-        final ReflectionUtils.ConstructorInvoker packetConstructor = getPacketConstructor(player);
-        Object packet;
-        try {
-            final Class<?> chatMessageTypeClass = ReflectionUtils.getMinecraftClass("ChatMessageType");
-            final ReflectionUtils.MethodInvoker chatMessageTypeMethod = ReflectionUtils.getMethod(chatMessageTypeClass, "a", byte.class);
-            final Object chatMessageType = chatMessageTypeMethod.invoke(null, (byte) 0);
-            packet = packetConstructor.invoke(textComponent, chatMessageType, player.getUniqueId());
-        } catch (Exception e) {
-            try {
-                packet = packetConstructor.invoke(textComponent, 0);
-            } catch (Exception e2) {
-                try {
-                    packet = packetConstructor.invoke(textComponent, false);
-                } catch (Exception e3) {
-                    packet = packetConstructor.invoke(textComponent);
-                }
-            }
-        }
-        return packet;
+        return MinecraftBindings.CHAT_PACKET.invoke(textComponent, player.getUniqueId());
     }
 
     /**
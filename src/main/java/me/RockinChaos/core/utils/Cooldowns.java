@@ -0,0 +1,554 @@
+/*
+ * ChaosCore
+ * Copyright (C) CraftationGaming <https://www.craftationgaming.com/>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package me.RockinChaos.core.utils;
+
+import javax.annotation.Nonnull;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-key cooldowns and rate limits, grouped in namespaces.
+ * A namespace handle is obtained once, for example when a listener is created, and then checked with a UUID or int key.
+ * <p>
+ * Keys and timestamps are stored as primitive longs in an open-addressing table, so checking or acquiring a cooldown does not allocate.
+ * Entries that have fully elapsed are dropped whenever the table needs to grow.
+ * UUID keys and int keys may be mixed within a namespace, int keys are stored as a UUID with no most significant bits.
+ */
+@SuppressWarnings("unused")
+public class Cooldowns {
+    private static final Map<String, Cooldowns> namespaces = new ConcurrentHashMap<>();
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final String namespace;
+    private final Mode mode;
+    private final long period;
+    private final int limit;
+    private long[] msb = new long[INITIAL_CAPACITY];
+    private long[] lsb = new long[INITIAL_CAPACITY];
+    private long[] first = new long[INITIAL_CAPACITY];
+    private long[] second = new long[INITIAL_CAPACITY];
+    private boolean[] used = new boolean[INITIAL_CAPACITY];
+    private int size = 0;
+
+    /**
+     * Creates a new Cooldowns namespace.
+     *
+     * @param namespace - The name of the namespace.
+     * @param mode      - The way acquisitions are limited.
+     * @param period    - The cooldown, token interval or window in nanoseconds.
+     * @param limit     - The bucket capacity or number of acquisitions per window, 1 for a plain cooldown.
+     */
+    private Cooldowns(final @Nonnull String namespace, final @Nonnull Mode mode, final long period, final int limit) {
+        this.namespace = namespace;
+        this.mode = mode;
+        this.period = Math.max(1L, period);
+        this.limit = Math.max(1, limit);
+    }
+
+    /**
+     * Gets the cooldown namespace, creating it if necessary.
+     * A key may be acquired once, after which it is on cooldown for the specified duration.
+     *
+     * @param namespace - The name of the namespace.
+     * @param duration  - The default cooldown duration.
+     * @param unit      - The TimeUnit of the duration.
+     * @return The cooldown namespace.
+     */
+    public static @Nonnull Cooldowns of(final @Nonnull String namespace, final long duration, final @Nonnull TimeUnit unit) {
+        return get(namespace, Mode.COOLDOWN, unit.toNanos(duration), 1);
+    }
+
+    /**
+     * Gets the token bucket namespace, creating it if necessary.
+     * Each key holds up to the capacity in tokens, refilled at one token per interval, and every acquisition takes a token.
+     *
+     * @param namespace - The name of the namespace.
+     * @param capacity  - The maximum number of tokens, the number of acquisitions allowed in a burst.
+     * @param interval  - The time it takes to refill a single token.
+     * @param unit      - The TimeUnit of the interval.
+     * @return The token bucket namespace.
+     */
+    public static @Nonnull Cooldowns tokenBucket(final @Nonnull String namespace, final int capacity, final long interval, final @Nonnull TimeUnit unit) {
+        return get(namespace, Mode.TOKEN_BUCKET, unit.toNanos(interval), capacity);
+    }
+
+    /**
+     * Gets the sliding window namespace, creating it if necessary.
+     * Each key may be acquired up to the limit within any window, the previous window being weighted by how much of it still overlaps.
+     *
+     * @param namespace - The name of the namespace.
+     * @param limit     - The number of acquisitions allowed per window.
+     * @param window    - The length of the window.
+     * @param unit      - The TimeUnit of the window.
+     * @return The sliding window namespace.
+     */
+    public static @Nonnull Cooldowns slidingWindow(final @Nonnull String namespace, final int limit, final long window, final @Nonnull TimeUnit unit) {
+        return get(namespace, Mode.SLIDING_WINDOW, unit.toNanos(window), limit);
+    }
+
+    /**
+     * Removes the namespace and all of its keys.
+     *
+     * @param namespace - The name of the namespace.
+     */
+    public static void remove(final @Nonnull String namespace) {
+        namespaces.remove(namespace);
+    }
+
+    /**
+     * Gets the namespace, creating it if necessary.
+     * An existing namespace must have been registered with the same mode, period and limit.
+     *
+     * @param namespace - The name of the namespace.
+     * @param mode      - The way acquisitions are limited.
+     * @param period    - The cooldown, token interval or window in nanoseconds.
+     * @param limit     - The bucket capacity or number of acquisitions per window.
+     * @return The namespace.
+     */
+    private static @Nonnull Cooldowns get(final @Nonnull String namespace, final @Nonnull Mode mode, final long period, final int limit) {
+        final Cooldowns cooldowns = namespaces.computeIfAbsent(namespace, name -> new Cooldowns(name, mode, period, limit));
+        if (cooldowns.mode != mode) {
+            throw new IllegalStateException("{Cooldowns} The namespace " + namespace + " is already registered as a " + cooldowns.mode.name().toLowerCase() + " namespace.");
+        } else if (cooldowns.period != Math.max(1L, period) || cooldowns.limit != Math.max(1, limit)) {
+            throw new IllegalStateException("{Cooldowns} The namespace " + namespace + " is already registered with a period of " + TimeUnit.NANOSECONDS.toMillis(cooldowns.period) + "ms and a limit of " + cooldowns.limit
+                    + ", remove it before registering it with a period of " + TimeUnit.NANOSECONDS.toMillis(period) + "ms and a limit of " + limit + ".");
+        }
+        return cooldowns;
+    }
+
+    /**
+     * Attempts to acquire the key, putting it on cooldown or consuming from its limit.
+     *
+     * @param uniqueId - The key being acquired.
+     * @return If the key was acquired, false if it is on cooldown or over its limit.
+     */
+    public boolean tryAcquire(final @Nonnull UUID uniqueId) {
+        return this.tryAcquire(uniqueId.getMostSignificantBits(), uniqueId.getLeastSignificantBits());
+    }
+
+    /**
+     * Attempts to acquire the key, putting it on cooldown or consuming from its limit.
+     *
+     * @param key - The key being acquired.
+     * @return If the key was acquired, false if it is on cooldown or over its limit.
+     */
+    public boolean tryAcquire(final int key) {
+        return this.tryAcquire(0L, key);
+    }
+
+    /**
+     * Checks if the key is on cooldown or over its limit, without acquiring it.
+     *
+     * @param uniqueId - The key being checked.
+     * @return If the key cannot currently be acquired.
+     */
+    public boolean isActive(final @Nonnull UUID uniqueId) {
+        return this.isActive(uniqueId.getMostSignificantBits(), uniqueId.getLeastSignificantBits());
+    }
+
+    /**
+     * Checks if the key is on cooldown or over its limit, without acquiring it.
+     *
+     * @param key - The key being checked.
+     * @return If the key cannot currently be acquired.
+     */
+    public boolean isActive(final int key) {
+        return this.isActive(0L, key);
+    }
+
+    /**
+     * Gets the time until the key can be acquired again.
+     *
+     * @param uniqueId - The key being checked.
+     * @param unit     - The TimeUnit of the remaining time.
+     * @return The remaining time, 0 if the key can be acquired.
+     */
+    public long getRemaining(final @Nonnull UUID uniqueId, final @Nonnull TimeUnit unit) {
+        return unit.convert(this.getRemaining(uniqueId.getMostSignificantBits(), uniqueId.getLeastSignificantBits()), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Gets the time until the key can be acquired again.
+     *
+     * @param key  - The key being checked.
+     * @param unit - The TimeUnit of the remaining time.
+     * @return The remaining time, 0 if the key can be acquired.
+     */
+    public long getRemaining(final int key, final @Nonnull TimeUnit unit) {
+        return unit.convert(this.getRemaining(0L, key), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Puts the key on cooldown for the specified duration, replacing the current cooldown.
+     * Only supported by cooldown namespaces.
+     *
+     * @param uniqueId - The key being put on cooldown.
+     * @param duration - The cooldown duration.
+     * @param unit     - The TimeUnit of the duration.
+     */
+    public void set(final @Nonnull UUID uniqueId, final long duration, final @Nonnull TimeUnit unit) {
+        this.set(uniqueId.getMostSignificantBits(), uniqueId.getLeastSignificantBits(), unit.toNanos(duration));
+    }
+
+    /**
+     * Puts the key on cooldown for the specified duration, replacing the current cooldown.
+     * Only supported by cooldown namespaces.
+     *
+     * @param key      - The key being put on cooldown.
+     * @param duration - The cooldown duration.
+     * @param unit     - The TimeUnit of the duration.
+     */
+    public void set(final int key, final long duration, final @Nonnull TimeUnit unit) {
+        this.set(0L, key, unit.toNanos(duration));
+    }
+
+    /**
+     * Resets the key, allowing it to be acquired immediately.
+     *
+     * @param uniqueId - The key being reset.
+     */
+    public synchronized void clear(final @Nonnull UUID uniqueId) {
+        final int slot = this.find(uniqueId.getMostSignificantBits(), uniqueId.getLeastSignificantBits());
+        if (slot >= 0) {
+            this.delete(slot);
+        }
+    }
+
+    /**
+     * Resets the key, allowing it to be acquired immediately.
+     *
+     * @param key - The key being reset.
+     */
+    public synchronized void clear(final int key) {
+        final int slot = this.find(0L, key);
+        if (slot >= 0) {
+            this.delete(slot);
+        }
+    }
+
+    /**
+     * Resets every key of the namespace.
+     */
+    public synchronized void clearAll() {
+        this.allocate(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Gets the number of keys currently stored, including keys that have elapsed but not yet been dropped.
+     *
+     * @return The number of stored keys.
+     */
+    public synchronized int size() {
+        return this.size;
+    }
+
+    /**
+     * Gets the name of the namespace.
+     *
+     * @return The namespace name.
+     */
+    public @Nonnull String getNamespace() {
+        return this.namespace;
+    }
+
+    /**
+     * Gets the way acquisitions of the namespace are limited.
+     *
+     * @return The namespace mode.
+     */
+    public @Nonnull Mode getMode() {
+        return this.mode;
+    }
+
+    /**
+     * Attempts to acquire the key.
+     *
+     * @param high - The most significant bits of the key.
+     * @param low  - The least significant bits of the key.
+     * @return If the key was acquired.
+     */
+    private synchronized boolean tryAcquire(final long high, final long low) {
+        final long now = System.nanoTime();
+        int slot = this.find(high, low);
+        switch (this.mode) {
+            case COOLDOWN:
+                if (slot >= 0 && this.first[slot] - now > 0) {
+                    return false;
+                }
+                slot = slot >= 0 ? slot : this.insert(high, low);
+                this.first[slot] = now + this.period;
+                return true;
+            case TOKEN_BUCKET:
+                final long arrival = slot >= 0 && this.first[slot] - now > 0 ? this.first[slot] : now;
+                if (arrival - now > (this.limit - 1) * this.period) {
+                    return false;
+                }
+                slot = slot >= 0 ? slot : this.insert(high, low);
+                this.first[slot] = arrival + this.period;
+                return true;
+            default:
+                if (slot < 0) {
+                    slot = this.insert(high, low);
+                    this.first[slot] = now;
+                    this.second[slot] = 0L;
+                }
+                this.slide(slot, now);
+                if (this.estimate(slot, now) >= this.limit) {
+                    return false;
+                }
+                this.second[slot]++;
+                return true;
+        }
+    }
+
+    /**
+     * Checks if the key cannot currently be acquired.
+     *
+     * @param high - The most significant bits of the key.
+     * @param low  - The least significant bits of the key.
+     * @return If the key is on cooldown or over its limit.
+     */
+    private synchronized boolean isActive(final long high, final long low) {
+        return this.getRemaining(high, low) > 0;
+    }
+
+    /**
+     * Gets the time until the key can be acquired again.
+     *
+     * @param high - The most significant bits of the key.
+     * @param low  - The least significant bits of the key.
+     * @return The remaining time in nanoseconds.
+     */
+    private synchronized long getRemaining(final long high, final long low) {
+        final int slot = this.find(high, low);
+        if (slot < 0) {
+            return 0L;
+        }
+        final long now = System.nanoTime();
+        switch (this.mode) {
+            case COOLDOWN:
+                return Math.max(0L, this.first[slot] - now);
+            case TOKEN_BUCKET:
+                return Math.max(0L, this.first[slot] - now - (this.limit - 1) * this.period);
+            default:
+                this.slide(slot, now);
+                if (this.estimate(slot, now) < this.limit) {
+                    return 0L;
+                }
+                final long previous = this.second[slot] >>> 32;
+                final long current = this.second[slot] & 0xFFFFFFFFL;
+                if (current >= this.limit || previous == 0) {
+                    return this.first[slot] + this.period - now;
+                }
+                final double overlap = (this.limit - current) / (double) previous;
+                return Math.max(0L, (long) ((1.0 - overlap) * this.period) - (now - this.first[slot]));
+        }
+    }
+
+    /**
+     * Puts the key on cooldown.
+     *
+     * @param high     - The most significant bits of the key.
+     * @param low      - The least significant bits of the key.
+     * @param duration - The cooldown duration in nanoseconds.
+     */
+    private synchronized void set(final long high, final long low, final long duration) {
+        if (this.mode != Mode.COOLDOWN) {
+            throw new UnsupportedOperationException("{Cooldowns} The namespace " + this.namespace + " is not a cooldown namespace.");
+        }
+        int slot = this.find(high, low);
+        slot = slot >= 0 ? slot : this.insert(high, low);
+        this.first[slot] = System.nanoTime() + duration;
+    }
+
+    /**
+     * Rolls the sliding window of the slot forward to the current time.
+     * The current window count is held in the low half of the second value, the previous window count in the high half.
+     *
+     * @param slot - The slot of the key.
+     * @param now  - The current time in nanoseconds.
+     */
+    private void slide(final int slot, final long now) {
+        final long elapsed = now - this.first[slot];
+        if (elapsed >= this.period) {
+            final long windows = elapsed / this.period;
+            this.second[slot] = windows == 1 ? (this.second[slot] & 0xFFFFFFFFL) << 32 : 0L;
+            this.first[slot] += windows * this.period;
+        }
+    }
+
+    /**
+     * Estimates the number of acquisitions within the window ending now.
+     *
+     * @param slot - The slot of the key.
+     * @param now  - The current time in nanoseconds.
+     * @return The weighted number of acquisitions.
+     */
+    private double estimate(final int slot, final long now) {
+        final long previous = this.second[slot] >>> 32;
+        final long current = this.second[slot] & 0xFFFFFFFFL;
+        final double overlap = 1.0 - (now - this.first[slot]) / (double) this.period;
+        return previous * overlap + current;
+    }
+
+    /**
+     * Checks if the slot has fully elapsed and holds no state worth keeping.
+     *
+     * @param slot - The slot being checked.
+     * @param now  - The current time in nanoseconds.
+     * @return If the slot can be dropped.
+     */
+    private boolean isElapsed(final int slot, final long now) {
+        if (this.mode == Mode.SLIDING_WINDOW) {
+            return now - this.first[slot] >= 2 * this.period;
+        }
+        return this.first[slot] - now <= 0;
+    }
+
+    /**
+     * Finds the slot of the key.
+     *
+     * @param high - The most significant bits of the key.
+     * @param low  - The least significant bits of the key.
+     * @return The slot of the key, or -1 if the key is not stored.
+     */
+    private int find(final long high, final long low) {
+        final int mask = this.used.length - 1;
+        for (int slot = hash(high, low) & mask; this.used[slot]; slot = (slot + 1) & mask) {
+            if (this.msb[slot] == high && this.lsb[slot] == low) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Stores a key that is not yet stored, dropping elapsed keys or growing the table if it is half full.
+     *
+     * @param high - The most significant bits of the key.
+     * @param low  - The least significant bits of the key.
+     * @return The slot of the key.
+     */
+    private int insert(final long high, final long low) {
+        if ((this.size + 1) * 2 > this.used.length) {
+            this.rebuild();
+        }
+        final int mask = this.used.length - 1;
+        int slot = hash(high, low) & mask;
+        while (this.used[slot]) {
+            slot = (slot + 1) & mask;
+        }
+        this.used[slot] = true;
+        this.msb[slot] = high;
+        this.lsb[slot] = low;
+        this.first[slot] = 0L;
+        this.second[slot] = 0L;
+        this.size++;
+        return slot;
+    }
+
+    /**
+     * Removes the key in the slot, shifting back the keys that probed past it.
+     *
+     * @param slot - The slot being cleared.
+     */
+    private void delete(int slot) {
+        final int mask = this.used.length - 1;
+        this.used[slot] = false;
+        this.size--;
+        for (int next = (slot + 1) & mask; this.used[next]; next = (next + 1) & mask) {
+            final int home = hash(this.msb[next], this.lsb[next]) & mask;
+            if (((next - home) & mask) >= ((next - slot) & mask)) {
+                this.msb[slot] = this.msb[next];
+                this.lsb[slot] = this.lsb[next];
+                this.first[slot] = this.first[next];
+                this.second[slot] = this.second[next];
+                this.used[slot] = true;
+                this.used[next] = false;
+                slot = next;
+            }
+        }
+    }
+
+    /**
+     * Rehashes the live keys, dropping elapsed keys and sizing the table so that it is at most a quarter full.
+     */
+    private void rebuild() {
+        final long now = System.nanoTime();
+        final long[] oldMsb = this.msb, oldLsb = this.lsb, oldFirst = this.first, oldSecond = this.second;
+        final boolean[] oldUsed = this.used;
+        int live = 0;
+        for (int i = 0; i < oldUsed.length; i++) {
+            if (oldUsed[i] && !this.isElapsed(i, now)) {
+                live++;
+            }
+        }
+        int capacity = INITIAL_CAPACITY;
+        while (capacity < (live + 1) * 4) {
+            capacity <<= 1;
+        }
+        this.allocate(capacity);
+        for (int i = 0; i < oldUsed.length; i++) {
+            if (oldUsed[i] && (this.mode == Mode.SLIDING_WINDOW ? now - oldFirst[i] < 2 * this.period : oldFirst[i] - now > 0)) {
+                final int slot = this.insert(oldMsb[i], oldLsb[i]);
+                this.first[slot] = oldFirst[i];
+                this.second[slot] = oldSecond[i];
+            }
+        }
+    }
+
+    /**
+     * Replaces the table with an empty table of the specified capacity.
+     *
+     * @param capacity - The capacity of the table, a power of two.
+     */
+    private void allocate(final int capacity) {
+        this.msb = new long[capacity];
+        this.lsb = new long[capacity];
+        this.first = new long[capacity];
+        this.second = new long[capacity];
+        this.used = new boolean[capacity];
+        this.size = 0;
+    }
+
+    /**
+     * Hashes the key.
+     *
+     * @param high - The most significant bits of the key.
+     * @param low  - The least significant bits of the key.
+     * @return The hash of the key.
+     */
+    private static int hash(final long high, final long low) {
+        long h = high * 0x9E3779B97F4A7C15L ^ low;
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+
+    /**
+     * The ways a namespace limits acquisitions.
+     */
+    public enum Mode {
+        COOLDOWN,
+        TOKEN_BUCKET,
+        SLIDING_WINDOW
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * ChaosCore
+ * Copyright (C) CraftationGaming <https://www.craftationgaming.com/>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package me.RockinChaos.core.utils;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.Server;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * The Folia scheduler entry points used by {@link SchedulerUtils}, bound to MethodHandles once when the class is initialized.
+ * Every handle is adapted to a signature using only Bukkit and JDK types, returning the ScheduledTask as an Object,
+ * so submitting a task is a direct invokeExact call instead of a reflective lookup.
+ */
+final class FoliaScheduler {
+    private static final String PACKAGE = "io.papermc.paper.threadedregions.scheduler.";
+    private static final Object GLOBAL = ServerUtils.isFolia ? ReflectionUtils.invokeMethod("getGlobalRegionScheduler", Bukkit.class, Bukkit.getServer()) : null;
+    private static final Object ASYNC = ServerUtils.isFolia ? ReflectionUtils.invokeMethod("getAsyncScheduler", Bukkit.class, Bukkit.getServer()) : null;
+    private static final Object REGION = ServerUtils.isFolia ? ReflectionUtils.invokeMethod("getRegionScheduler", Bukkit.class, Bukkit.getServer()) : null;
+
+    static final MethodHandle GLOBAL_RUN = bind(GLOBAL, "GlobalRegionScheduler", "run", Plugin.class, Consumer.class);
+    static final MethodHandle GLOBAL_RUN_DELAYED = bind(GLOBAL, "GlobalRegionScheduler", "runDelayed", Plugin.class, Consumer.class, long.class);
+    static final MethodHandle GLOBAL_RUN_AT_FIXED_RATE = bind(GLOBAL, "GlobalRegionScheduler", "runAtFixedRate", Plugin.class, Consumer.class, long.class, long.class);
+    static final MethodHandle GLOBAL_CANCEL_TASKS = bind(GLOBAL, "GlobalRegionScheduler", "cancelTasks", Plugin.class);
+    static final MethodHandle ASYNC_RUN_NOW = bind(ASYNC, "AsyncScheduler", "runNow", Plugin.class, Consumer.class);
+    static final MethodHandle ASYNC_RUN_DELAYED = bind(ASYNC, "AsyncScheduler", "runDelayed", Plugin.class, Consumer.class, long.class, TimeUnit.class);
+    static final MethodHandle ASYNC_RUN_AT_FIXED_RATE = bind(ASYNC, "AsyncScheduler", "runAtFixedRate", Plugin.class, Consumer.class, long.class, long.class, TimeUnit.class);
+    static final MethodHandle ASYNC_CANCEL_TASKS = bind(ASYNC, "AsyncScheduler", "cancelTasks", Plugin.class);
+    static final MethodHandle ENTITY_SCHEDULER = bindEntityScheduler();
+    static final MethodHandle REGION_EXECUTE = bind(REGION, "RegionScheduler", "execute", Plugin.class, Location.class, Runnable.class);
+    static final MethodHandle REGION_RUN_DELAYED = bind(REGION, "RegionScheduler", "runDelayed", Plugin.class, Location.class, Consumer.class, long.class);
+    static final MethodHandle REGION_RUN_AT_FIXED_RATE = bind(REGION, "RegionScheduler", "runAtFixedRate", Plugin.class, Location.class, Consumer.class, long.class, long.class);
+    static final MethodHandle ENTITY_RUN = bind(null, "EntityScheduler", "run", Plugin.class, Consumer.class, Runnable.class);
+    static final MethodHandle ENTITY_RUN_DELAYED = bind(null, "EntityScheduler", "runDelayed", Plugin.class, Consumer.class, Runnable.class, long.class);
+    static final MethodHandle ENTITY_RUN_AT_FIXED_RATE = bind(null, "EntityScheduler", "runAtFixedRate", Plugin.class, Consumer.class, Runnable.class, long.class, long.class);
+    static final MethodHandle TASK_CANCEL = bind(null, "ScheduledTask", "cancel");
+    static final MethodHandle GLOBAL_TICK_THREAD = bindGlobalTickThread();
+
+    /**
+     * Binds a method of a Folia scheduler type.
+     *
+     * @param receiver  - The scheduler the handle is bound to, or null if the scheduler is passed as the first argument.
+     * @param className - The simple name of the scheduler type.
+     * @param name      - The name of the method.
+     * @param params    - The parameter types of the method.
+     * @return The bound handle returning an Object, or null if not running Folia or the method could not be found.
+     */
+    private static @Nullable MethodHandle bind(final @Nullable Object receiver, final @Nonnull String className, final @Nonnull String name, final @Nonnull Class<?>... params) {
+        if (!ServerUtils.isFolia) {
+            return null;
+        }
+        try {
+            final Class<?> type = Class.forName(PACKAGE + className);
+            MethodHandle handle = MethodHandles.publicLookup().unreflect(type.getMethod(name, params));
+            if (receiver != null) {
+                handle = handle.bindTo(receiver);
+            } else {
+                handle = handle.asType(handle.type().changeParameterType(0, Object.class));
+            }
+            return handle.asType(handle.type().changeReturnType(handle.type().returnType() == void.class ? void.class : Object.class));
+        } catch (Exception e) {
+            ServerUtils.logSevere("{SchedulerUtils (Folia)} Failed to bind the scheduler method " + className + "#" + name + ".");
+            ServerUtils.sendSevereTrace(e);
+            return null;
+        }
+    }
+
+    /**
+     * Binds {@code Entity#getScheduler}.
+     *
+     * @return The handle returning the EntityScheduler of an Entity, or null if not running Folia.
+     */
+    private static @Nullable MethodHandle bindEntityScheduler() {
+        if (!ServerUtils.isFolia) {
+            return null;
+        }
+        try {
+            final MethodHandle handle = MethodHandles.publicLookup().unreflect(Entity.class.getMethod("getScheduler"));
+            return handle.asType(MethodType.methodType(Object.class, Entity.class));
+        } catch (Exception e) {
+            ServerUtils.logSevere("{SchedulerUtils (Folia)} Failed to bind the entity scheduler.");
+            ServerUtils.sendSevereTrace(e);
+            return null;
+        }
+    }
+
+    /**
+     * Binds {@code Server#isGlobalTickThread} to the running server.
+     *
+     * @return The handle checking if the current thread is the global tick thread, or null if not running Folia.
+     */
+    private static @Nullable MethodHandle bindGlobalTickThread() {
+        if (!ServerUtils.isFolia) {
+            return null;
+        }
+        try {
+            return MethodHandles.publicLookup().unreflect(Server.class.getMethod("isGlobalTickThread")).bindTo(Bukkit.getServer()).asType(MethodType.methodType(boolean.class));
+        } catch (Exception e) {
+            ServerUtils.logSevere("{SchedulerUtils (Folia)} Failed to bind the global tick thread check.");
+            ServerUtils.sendSevereTrace(e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,354 @@
+/*
+ * ChaosCore
+ * Copyright (C) CraftationGaming <https://www.craftationgaming.com/>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package me.RockinChaos.core.utils;
+
+import me.RockinChaos.core.utils.ReflectionUtils.ConstructorInvoker;
+import me.RockinChaos.core.utils.ReflectionUtils.FieldAccessor;
+import me.RockinChaos.core.utils.ReflectionUtils.MethodInvoker;
+import me.RockinChaos.core.utils.ReflectionUtils.MinecraftField;
+import me.RockinChaos.core.utils.ReflectionUtils.MinecraftMethod;
+import org.bukkit.inventory.ItemStack;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * The NMS methods, fields and constructors used on the hot paths of the core, resolved once for the running server version.
+ * Call sites hold these final references instead of looking up the members by name on every call.
+ * <p>
+ * All bindings are resolved when the class is first loaded, {@link #resolve()} is called while the core starts
+ * so that any binding missing on this server version is reported during enable rather than on first use,
+ * {@link me.RockinChaos.core.Core#isEnabled()} then disables the plugin.
+ * Bindings that do not apply to this server version throw an {@link IllegalStateException} naming the binding when used.
+ */
+@SuppressWarnings("unused")
+public final class MinecraftBindings {
+    private static final List<String> missing = new ArrayList<>();
+    private static final boolean COMPONENTS = ServerUtils.hasUpdate("1_20_5");
+    private static final boolean CONNECTION_MAPPED = ServerUtils.hasUpdate("1_21_7") && ServerUtils.isPaper;
+    private static final boolean CONTAINER_ACCESS = ServerUtils.hasUpdate("1_14");
+    private static final boolean SERIALIZED_CHAT = !ServerUtils.hasUpdate("1_21_6");
+
+    /**
+     * Whether NBTTagCompound#getString takes a default value, as of 1.21.5.
+     */
+    public static final boolean TAG_STRING_DEFAULT = ServerUtils.hasUpdate("1_21_5");
+
+    public static final MethodInvoker AS_NMS_COPY = bindMethod("CraftItemStack#asNMSCopy", true,
+            () -> ReflectionUtils.getMethod(ReflectionUtils.getCraftBukkitClass("inventory.CraftItemStack"), "asNMSCopy", ItemStack.class));
+    public static final MethodInvoker AS_CRAFT_MIRROR = bindMethod("CraftItemStack#asCraftMirror", true,
+            () -> ReflectionUtils.getMethod(ReflectionUtils.getCraftBukkitClass("inventory.CraftItemStack"), "asCraftMirror", ReflectionUtils.getMinecraftClass("ItemStack")));
+    public static final MethodInvoker ITEM_SET_TAG = bindMethod("ItemStack#setTag", !COMPONENTS,
+            () -> ReflectionUtils.getMethod(ReflectionUtils.getMinecraftClass("ItemStack"), MinecraftMethod.setTag.getMethod(), ReflectionUtils.getMinecraftClass("NBTTagCompound")));
+    public static final MethodInvoker ITEM_GET_TAG = bindMethod("ItemStack#getTag", !COMPONENTS,
+            () -> ReflectionUtils.getMethod(ReflectionUtils.getMinecraftClass("ItemStack"), MinecraftMethod.getTag.getMethod()));
+    public static final FieldAccessor<Object> CUSTOM_DATA = bindField("DataComponents#CUSTOM_DATA", COMPONENTS,
+            () -> ReflectionUtils.getField(ReflectionUtils.getMinecraftClass("DataComponents"), MinecraftField.CustomData.getField()));
+    public static final MethodInvoker CUSTOM_DATA_OF = bindMethod("CustomData#of", COMPONENTS,
+            () -> ReflectionUtils.getMethod(ReflectionUtils.getMinecraftClass("CustomData"), MinecraftMethod.of.getMethod(), ReflectionUtils.getMinecraftClass("NBTTagCompound")));
+    public static final MethodInvoker CUSTOM_DATA_COPY_TAG = bindMethod("CustomData#copyTag", COMPONENTS,
+            () -> ReflectionUtils.getMethod(ReflectionUtils.getMinecraftClass("CustomData"), MinecraftMethod.copyTag.getMethod()));
+    public static final MethodInvoker PATCH_BUILDER = bindMethod("DataComponentPatch#builder", COMPONENTS,
+            () -> ReflectionUtils.getMethod(ReflectionUtils.getMinecraftClass("DataComponentPatch"), MinecraftMethod.builder.getMethod()));
+    public static final MethodInvoker PATCH_BUILDER_SET = bindMethod("DataComponentPatch$Builder#set", COMPONENTS,
+            () -> ReflectionUtils.getMethod(builderClass(), MinecraftMethod.set.getMethod(), ReflectionUtils.getMinecraftClass("DataComponentType"), Object.class));
+    public static final MethodInvoker PATCH_BUILDER_BUILD = bindMethod("DataComponentPatch$Builder#build", COMPONENTS,
+            () -> ReflectionUtils.getMethod(builderClass(), MinecraftMethod.build.getMethod()));
+    public static final MethodInvoker ITEM_APPLY_COMPONENTS = bindMethod("ItemStack#applyComponentsAndValidate", COMPONENTS,
+            () -> ReflectionUtils.getMethod(ReflectionUtils.getMinecraftClass("ItemStack"), MinecraftMethod.applyComponentsAndValidate.getMethod(), ReflectionUtils.getMinecraftClass("DataComponentPatch")));
+    public static final MethodInvoker ITEM_GET_COMPONENTS = bindMethod("ItemStack#getComponents", COMPONENTS,
+            () -> ReflectionUtils.getMethod(ReflectionUtils.getMinecraftClass("ItemStack"), MinecraftMethod.getComponents.getMethod()));
+    public static final MethodInvoker COMPONENTS_GET = bindMethod("DataComponentMap#get", COMPONENTS,
+            () -> ReflectionUtils.getMethod(ReflectionUtils.getMinecraftClass(TAG_STRING_DEFAULT ? "DataComponentGetter" : "DataComponentMap"), MinecraftMethod.get.getMethod(), ReflectionUtils.getMinecraftClass("DataComponentType")));
+    public static final MethodInvoker TAG_GET_STRING = bindMethod("NBTTagCompound#getString", true,
+            () -> TAG_STRING_DEFAULT ? ReflectionUtils.getMethod(ReflectionUtils.getMinecraftClass("NBTTagCompound"), MinecraftMethod.getString.getMethod(), String.class, String.class)
+                    : ReflectionUtils.getMethod(ReflectionUtils.getMinecraftClass("NBTTagCompound"), MinecraftMethod.getString.getMethod(), String.class));
+    public static final FieldAccessor<Object> PLAYER_CONNECTION = bindField("EntityPlayer#connection", true,
+            () -> ReflectionUtils.getField(ReflectionUtils.getMinecraftClass("EntityPlayer"), CONNECTION_MAPPED ? "connection" : MinecraftField.PlayerConnection.getField()));
+    public static final MethodInvoker SEND_PACKET = bindMethod("PlayerConnection#sendPacket", true,
+            () -> ReflectionUtils.getMethod(ReflectionUtils.getMinecraftClass("PlayerConnection"), CONNECTION_MAPPED ? "send" : MinecraftMethod.sendPacket.getMethod(), ReflectionUtils.getMinecraftClass("Packet")));
+    public static final ConstructorInvoker SET_SLOT_PACKET = bindConstructor("PacketPlayOutSetSlot", true, MinecraftBindings::setSlotPacket);
+    public static final MethodInvoker CHAT_SERIALIZER = bindMethod("IChatBaseComponent$ChatSerializer#a", SERIALIZED_CHAT,
+            () -> COMPONENTS ? ReflectionUtils.getMethod(ReflectionUtils.getMinecraftClass("IChatBaseComponent$ChatSerializer"), "a", String.class, ReflectionUtils.getMinecraftClass("HolderLookup$a"))
+                    : ReflectionUtils.getMethod(ReflectionUtils.getMinecraftClass("IChatBaseComponent$ChatSerializer"), "a", String.class));
+    public static final ConstructorInvoker CHAT_PACKET = bindConstructor("PacketPlayOutChat", SERIALIZED_CHAT, MinecraftBindings::chatPacket);
+
+    public static final MethodInvoker WORLD_HANDLE = bindMethod("CraftWorld#getHandle", true,
+            () -> ReflectionUtils.getMethod(ReflectionUtils.getCraftBukkitClass("CraftWorld"), "getHandle"));
+    public static final MethodInvoker PLAYER_INVENTORY = bindMethod("EntityPlayer#inventory", true, MinecraftBindings::playerInventory);
+    public static final MethodInvoker NEXT_CONTAINER_COUNTER = bindMethod("EntityPlayer#nextContainerCounter", true,
+            () -> ReflectionUtils.getMethod(ReflectionUtils.getMinecraftClass("EntityPlayer"), "nextContainerCounter"));
+    public static final MethodInvoker ADD_SLOT_LISTENER = bindMethod("AddSlotListener", true,
+            () -> ServerUtils.hasUpdate("1_17") ? ReflectionUtils.getMethod(ReflectionUtils.getMinecraftClass("EntityPlayer"), MinecraftMethod.AddSlotListener.getMethod(), ReflectionUtils.getMinecraftClass("Container"))
+                    : ReflectionUtils.getMethod(ReflectionUtils.getMinecraftClass("Container"), MinecraftMethod.AddSlotListener.getMethod(), ReflectionUtils.getMinecraftClass("ICrafting")));
+    public static final FieldAccessor<Object> ACTIVE_CONTAINER = bindField("EntityHuman#activeContainer", true,
+            () -> ReflectionUtils.getField(ReflectionUtils.getMinecraftClass("EntityHuman"), MinecraftField.ActiveContainer.getField()));
+    public static final FieldAccessor<Object> DEFAULT_CONTAINER = bindField("EntityHuman#defaultContainer", true,
+            () -> ReflectionUtils.getField(ReflectionUtils.getMinecraftClass("EntityHuman"), MinecraftField.DefaultContainer.getField()));
+    public static final MethodInvoker INVENTORY_CLOSE_EVENT = bindMethod("CraftEventFactory#handleInventoryCloseEvent", true, MinecraftBindings::inventoryCloseEvent);
+    public static final ConstructorInvoker BLOCK_POSITION = bindConstructor("BlockPosition", true,
+            () -> ReflectionUtils.getConstructor(ReflectionUtils.getMinecraftClass("BlockPosition"), int.class, int.class, int.class));
+    public static final MethodInvoker CONTAINER_ACCESS_AT = bindMethod("ContainerAccess#at", CONTAINER_ACCESS,
+            () -> ReflectionUtils.getMethod(ReflectionUtils.getMinecraftClass("ContainerAccess"), MinecraftMethod.At.getMethod(), ReflectionUtils.getMinecraftClass("World"), ReflectionUtils.getMinecraftClass("BlockPosition")));
+    public static final ConstructorInvoker ANVIL_CONTAINER = bindConstructor("ContainerAnvil", true,
+            () -> CONTAINER_ACCESS ? ReflectionUtils.getConstructor(ReflectionUtils.getMinecraftClass("ContainerAnvil"), int.class, ReflectionUtils.getMinecraftClass("PlayerInventory"), ReflectionUtils.getMinecraftClass("ContainerAccess"))
+                    : ReflectionUtils.getConstructor(ReflectionUtils.getMinecraftClass("ContainerAnvil"), ReflectionUtils.getMinecraftClass("PlayerInventory"), ReflectionUtils.getMinecraftClass("World"), ReflectionUtils.getMinecraftClass("BlockPosition"), ReflectionUtils.getMinecraftClass("EntityHuman")));
+    public static final FieldAccessor<Object> CONTAINER_CHECK_REACHABLE = bindField("Container#checkReachable", true,
+            () -> ReflectionUtils.getField(ReflectionUtils.getMinecraftClass("Container"), "checkReachable"));
+    public static final FieldAccessor<Object> CONTAINER_WINDOW_ID = bindField("Container#windowId", !CONTAINER_ACCESS,
+            () -> ReflectionUtils.getField(ReflectionUtils.getMinecraftClass("Container"), "windowId"));
+    public static final MethodInvoker CONTAINER_SET_TITLE = bindMethod("Container#setTitle", CONTAINER_ACCESS,
+            () -> ReflectionUtils.getMethod(ReflectionUtils.getMinecraftClass("ContainerAnvil"), "setTitle", ReflectionUtils.getMinecraftClass("IChatBaseComponent")));
+    public static final FieldAccessor<Integer> ANVIL_REPAIR_COST = bindField("ContainerAnvil#maximumRepairCost", true,
+            () -> ReflectionUtils.getField(ReflectionUtils.getMinecraftClass("ContainerAnvil"), (ServerUtils.hasUpdate("1_13") ? "maximumRepairCost" : ServerUtils.hasUpdate("1_12") ? "levelCost" : "a"), int.class));
+    public static final ConstructorInvoker OPEN_WINDOW_PACKET = bindConstructor("PacketPlayOutOpenWindow", true, MinecraftBindings::openWindowPacket);
+    public static final ConstructorInvoker CLOSE_WINDOW_PACKET = bindConstructor("PacketPlayOutCloseWindow", true,
+            () -> ReflectionUtils.getConstructor(ReflectionUtils.getMinecraftClass("PacketPlayOutCloseWindow"), int.class));
+
+    /**
+     * Resolves the bindings and reports any that are missing on this server version.
+     * Safe to call more than once, the bindings are only resolved on the first call.
+     */
+    public static void resolve() {
+        if (missing.isEmpty()) {
+            ServerUtils.logDebug("{MinecraftBindings} Resolved all NMS bindings for this server version.");
+        } else {
+            ServerUtils.logSevere("{MinecraftBindings} Failed to resolve " + missing.size() + " NMS binding(s) for this server version: " + String.join(", ", missing) + ".");
+        }
+    }
+
+    /**
+     * Gets the names of the bindings that could not be resolved.
+     *
+     * @return The names of the missing bindings.
+     */
+    public static @Nonnull List<String> getMissing() {
+        return Collections.unmodifiableList(missing);
+    }
+
+    /**
+     * Checks if every binding applying to this server version was resolved.
+     *
+     * @return If no bindings are missing.
+     */
+    public static boolean isResolved() {
+        return missing.isEmpty();
+    }
+
+    /**
+     * Selects the PacketPlayOutSetSlot constructor, the state id was added as a leading argument in 1.17.1.
+     *
+     * @return The constructor taking the window id, slot and NMS ItemStack.
+     */
+    private static @Nonnull ConstructorInvoker setSlotPacket() {
+        final Class<?> playOutSlot = ReflectionUtils.getMinecraftClass("PacketPlayOutSetSlot");
+        final Class<?> itemStack = ReflectionUtils.getMinecraftClass("ItemStack");
+        if (ServerUtils.hasUpdate("1_17")) {
+            try {
+                final ConstructorInvoker constructor = ReflectionUtils.getConstructor(playOutSlot, int.class, int.class, int.class, itemStack);
+                return arguments -> constructor.invoke(arguments[0], 0, arguments[1], arguments[2]);
+            } catch (Exception ignored) {}
+        }
+        return ReflectionUtils.getConstructor(playOutSlot, int.class, int.class, itemStack);
+    }
+
+    /**
+     * Selects the chat packet constructor for this server version.
+     *
+     * @return The constructor taking the IChatBaseComponent and the UUID of the receiving player.
+     */
+    private static @Nonnull ConstructorInvoker chatPacket() {
+        final Class<?> baseComponent = ReflectionUtils.getMinecraftClass("IChatBaseComponent");
+        final Class<?> chatPacket = ReflectionUtils.getMinecraftClass((ServerUtils.hasUpdate("1_19") ? "ClientboundSystemChatPacket" : "PacketPlayOutChat"));
+        if (ServerUtils.hasUpdate("1_19")) {
+            try {
+                final ConstructorInvoker constructor = ReflectionUtils.getConstructor(chatPacket, baseComponent, int.class);
+                return arguments -> constructor.invoke(arguments[0], 0);
+            } catch (Exception e) {
+                final ConstructorInvoker constructor = ReflectionUtils.getConstructor(chatPacket, baseComponent, boolean.class);
+                return arguments -> constructor.invoke(arguments[0], false);
+            }
+        } else if (ServerUtils.hasUpdate("1_16")) {
+            final Class<?> messageType = ReflectionUtils.getMinecraftClass("ChatMessageType");
+            final ConstructorInvoker constructor = ReflectionUtils.getConstructor(chatPacket, baseComponent, messageType, UUID.class);
+            final Object chatMessageType = ReflectionUtils.getMethod(messageType, "a", byte.class).invoke(null, (byte) 0);
+            return arguments -> constructor.invoke(arguments[0], chatMessageType, arguments[1]);
+        }
+        final ConstructorInvoker constructor = ReflectionUtils.getConstructor(chatPacket, baseComponent);
+        return arguments -> constructor.invoke(arguments[0]);
+    }
+
+    /**
+     * Selects the lookup of the player inventory, a method as of 1.17 and a field before.
+     *
+     * @return The invoker taking the EntityPlayer as its target.
+     */
+    private static @Nonnull MethodInvoker playerInventory() {
+        final Class<?> entityPlayer = ReflectionUtils.getMinecraftClass("EntityPlayer");
+        if (ServerUtils.hasUpdate("1_17")) {
+            return ReflectionUtils.getMethod(entityPlayer, MinecraftMethod.PlayerInventory.getMethod());
+        }
+        final FieldAccessor<Object> inventory = ReflectionUtils.getField(entityPlayer, MinecraftMethod.PlayerInventory.getMethod());
+        return (target, arguments) -> inventory.get(target);
+    }
+
+    /**
+     * Selects CraftEventFactory#handleInventoryCloseEvent, PaperSpigot adds a close reason argument.
+     *
+     * @return The invoker taking the EntityHuman as its only argument.
+     */
+    private static @Nonnull MethodInvoker inventoryCloseEvent() {
+        final Class<?> eventFactory = ReflectionUtils.getCraftBukkitClass("event.CraftEventFactory");
+        final Class<?> humanEntity = ReflectionUtils.getMinecraftClass("EntityHuman");
+        try {
+            return ReflectionUtils.getMethod(eventFactory, "handleInventoryCloseEvent", humanEntity);
+        } catch (Exception e) {
+            final MethodInvoker method = ReflectionUtils.getMethod(eventFactory, "handleInventoryCloseEvent", humanEntity, ReflectionUtils.getClass("org.bukkit.event.inventory.InventoryCloseEvent$Reason"));
+            return (target, arguments) -> method.invoke(target, arguments[0], null);
+        }
+    }
+
+    /**
+     * Selects the PacketPlayOutOpenWindow constructor for an anvil, taking the menu type as of 1.14 and its name before.
+     *
+     * @return The constructor taking the container id and the IChatBaseComponent title.
+     */
+    private static @Nonnull ConstructorInvoker openWindowPacket() {
+        final Class<?> openWindow = ReflectionUtils.getMinecraftClass("PacketPlayOutOpenWindow");
+        final Class<?> baseComponent = ReflectionUtils.getMinecraftClass("IChatBaseComponent");
+        if (CONTAINER_ACCESS) {
+            final Class<?> containers = ReflectionUtils.getMinecraftClass("Containers");
+            final Object anvil = ReflectionUtils.getField(containers, MinecraftField.Anvil.getField()).get(null);
+            final ConstructorInvoker constructor = ReflectionUtils.getConstructor(openWindow, int.class, containers, baseComponent);
+            return arguments -> constructor.invoke(arguments[0], anvil, arguments[1]);
+        }
+        final ConstructorInvoker constructor = ReflectionUtils.getConstructor(openWindow, int.class, String.class, baseComponent);
+        return arguments -> constructor.invoke(arguments[0], "minecraft:anvil", arguments[1]);
+    }
+
+    /**
+     * Gets the builder class returned by DataComponentPatch#builder.
+     *
+     * @return The builder class.
+     */
+    private static @Nonnull Class<?> builderClass() {
+        return ReflectionUtils.getReturnType(ReflectionUtils.getMinecraftClass("DataComponentPatch"), MinecraftMethod.builder.getMethod());
+    }
+
+    /**
+     * Resolves a method binding.
+     *
+     * @param name     - The name of the binding, used when reporting it.
+     * @param applies  - If the binding applies to this server version.
+     * @param resolver - The lookup of the method.
+     * @return The resolved method, or an invoker throwing an {@link IllegalStateException} if it is unavailable.
+     */
+    private static @Nonnull MethodInvoker bindMethod(final @Nonnull String name, final boolean applies, final @Nonnull Supplier<MethodInvoker> resolver) {
+        final MethodInvoker invoker = bind(name, applies, resolver);
+        if (invoker != null) {
+            return invoker;
+        }
+        return (target, arguments) -> {
+            throw unavailable(name);
+        };
+    }
+
+    /**
+     * Resolves a constructor binding.
+     *
+     * @param name     - The name of the binding, used when reporting it.
+     * @param applies  - If the binding applies to this server version.
+     * @param resolver - The lookup of the constructor.
+     * @return The resolved constructor, or an invoker throwing an {@link IllegalStateException} if it is unavailable.
+     */
+    private static @Nonnull ConstructorInvoker bindConstructor(final @Nonnull String name, final boolean applies, final @Nonnull Supplier<ConstructorInvoker> resolver) {
+        final ConstructorInvoker invoker = bind(name, applies, resolver);
+        if (invoker != null) {
+            return invoker;
+        }
+        return arguments -> {
+            throw unavailable(name);
+        };
+    }
+
+    /**
+     * Resolves a field binding.
+     *
+     * @param name     - The name of the binding, used when reporting it.
+     * @param applies  - If the binding applies to this server version.
+     * @param resolver - The lookup of the field.
+     * @return The resolved field, or an accessor throwing an {@link IllegalStateException} if it is unavailable.
+     */
+    private static @Nonnull <T> FieldAccessor<T> bindField(final @Nonnull String name, final boolean applies, final @Nonnull Supplier<FieldAccessor<T>> resolver) {
+        final FieldAccessor<T> accessor = bind(name, applies, resolver);
+        if (accessor != null) {
+            return accessor;
+        }
+        return new FieldAccessor<T>() {
+            @Override
+            public T get(final Object target) {
+                throw unavailable(name);
+            }
+
+            @Override
+            public void set(final Object target, final Object value) {
+                throw unavailable(name);
+            }
+
+            @Override
+            public boolean hasField(final Object target) {
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Resolves a binding, recording it as missing if the lookup fails.
+     *
+     * @param name     - The name of the binding, used when reporting it.
+     * @param applies  - If the binding applies to this server version.
+     * @param resolver - The lookup of the binding.
+     * @return The resolved binding, or null if it does not apply or could not be resolved.
+     */
+    private static <T> T bind(final @Nonnull String name, final boolean applies, final @Nonnull Supplier<T> resolver) {
+        if (!applies) {
+            return null;
+        }
+        try {
+            return resolver.get();
+        } catch (Exception e) {
+            missing.add(name);
+            ServerUtils.sendDebugTrace(e);
+            return null;
+        }
+    }
+
+    /**
+     * Creates the exception thrown when an unavailable binding is used.
+     *
+     * @param name - The name of the binding.
+     * @return The exception to be thrown.
+     */
+    private static @Nonnull IllegalStateException unavailable(final @Nonnull String name) {
+        return new IllegalStateException("The NMS binding " + name + " is not available on this server version.");
+    }
+}
@@ -25,9 +25,13 @@ import org.bukkit.potion.PotionType;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.util.Arrays;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -40,12 +44,8 @@ import java.util.regex.Pattern;
 @SuppressWarnings({"unused"})
 public class ReflectionUtils {
     private static final Map<String, Class<?>> CLASS_CACHE = new ConcurrentHashMap<>();
-    private static final Map<String, Field> FIELD_CACHE = new ConcurrentHashMap<>();
-    private static final Map<String, Constructor<?>> CONSTRUCTOR_CACHE = new ConcurrentHashMap<>();
-    private static final Map<String, FieldAccessor<?>> FIELD_ACCESSOR_CACHE = new ConcurrentHashMap<>();
-    private static final Map<String, MethodInvoker> METHOD_INVOKER_CACHE = new ConcurrentHashMap<>();
-    private static final Map<String, Class<?>> METHOD_RETURN_TYPE_CACHE = new ConcurrentHashMap<>();
-    private static final Map<String, Field[]> DECLARED_FIELDS_CACHE = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, MemberCache> MEMBER_CACHE = new ConcurrentHashMap<>();
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
 
     private static final String OBC_PREFIX = Bukkit.getServer().getClass().getPackage().getName();
     private static final String NMS_PREFIX = OBC_PREFIX.replace("org.bukkit.craftbukkit", "net.minecraft.server");
@@ -124,45 +124,36 @@ public class ReflectionUtils {
      * @return The field accessor.
      */
     @SuppressWarnings("unchecked")
-    private static @Nonnull <T> FieldAccessor<T> getField(final @Nonnull Class<?> target, final @Nullable String name, @Nullable Class<T> fieldType, int index) {
-        final String cacheKey = target.getName() + "|" + name + "|" + (fieldType != null ? fieldType.getName() : "null") + "|" + index;
-        FieldAccessor<?> cached = FIELD_ACCESSOR_CACHE.get(cacheKey);
+    private static @Nonnull <T> FieldAccessor<T> getField(final @Nonnull Class<?> target, final @Nullable String name, final @Nullable Class<T> fieldType, final int index) {
+        final MemberCache cache = cacheOf(target);
+        final String key = name != null ? name : "";
+        final FieldAccessor<?> cached = (FieldAccessor<?>) MemberCache.find(cache.fields.get(key), fieldType, index, null);
         if (cached != null) {
             return (FieldAccessor<T>) cached;
         }
+        final FieldAccessor<T> accessor = findField(target, name, fieldType, index);
+        cache.fields.compute(key, (k, entries) -> MemberCache.append(entries, new MemberCache.Entry(fieldType, index, null, accessor)));
+        return accessor;
+    }
+
+    /**
+     * Searches the class and its superclasses for a field of a specific type and name.
+     *
+     * @param target    - the targeted class.
+     * @param name      - the name of the field, or NULL to ignore.
+     * @param fieldType - a compatible field type.
+     * @param index     - the number of compatible fields to skip.
+     * @return The field accessor.
+     */
+    private static @Nonnull <T> FieldAccessor<T> findField(final @Nonnull Class<?> target, final @Nullable String name, final @Nullable Class<T> fieldType, int index) {
         for (final Field field : target.getDeclaredFields()) {
             if ((name == null || field.getName().equals(name)) && (fieldType == null || fieldType.isAssignableFrom(field.getType())) && index-- <= 0) {
                 field.setAccessible(true);
-                FIELD_CACHE.put(cacheKey, field);
-                FieldAccessor<T> accessor = new FieldAccessor<T>() {
-                    @SuppressWarnings("unchecked")
-                    @Override
-                    public T get(Object target) {
-                        try {
-                            return (T) field.get(target);
-                        } catch (IllegalAccessException e) {
-                            throw new RuntimeException("Cannot access reflection.", e);
-                        }
-                    }
-                    @Override
-                    public void set(Object target, Object value) {
-                        try {
-                            field.set(target, value);
-                        } catch (IllegalAccessException e) {
-                            throw new RuntimeException("Cannot access reflection.", e);
-                        }
-                    }
-                    @Override
-                    public boolean hasField(Object target) {
-                        return field.getDeclaringClass().isAssignableFrom(target.getClass());
-                    }
-                };
-                FIELD_ACCESSOR_CACHE.put(cacheKey, accessor);
-                return accessor;
+                return fieldAccessor(field);
             }
         }
         if (target.getSuperclass() != null) {
-            return getField(target.getSuperclass(), name, fieldType, index);
+            return findField(target.getSuperclass(), name, fieldType, index);
         } else {
             throw new IllegalArgumentException("Cannot find field with type " + fieldType);
         }
@@ -176,15 +167,15 @@ public class ReflectionUtils {
      * @return The declared field.
      */
     public static @Nonnull Field getDeclaredField(final @Nonnull Class<?> clazz, final @Nonnull String fieldName) {
-        final String cacheKey = clazz.getName() + "|declared|" + fieldName;
-        Field cached = FIELD_CACHE.get(cacheKey);
+        final MemberCache cache = cacheOf(clazz);
+        final Field cached = cache.declaredField.get(fieldName);
         if (cached != null) {
             return cached;
         }
         try {
             Field field = clazz.getDeclaredField(fieldName);
             field.setAccessible(true);
-            FIELD_CACHE.put(cacheKey, field);
+            cache.declaredField.put(fieldName, field);
             return field;
         } catch (NoSuchFieldException e) {
             throw new RuntimeException("Cannot find declared field: " + fieldName, e);
@@ -199,8 +190,8 @@ public class ReflectionUtils {
      * @return The array of declared fields.
      */
     public static @Nonnull Field[] getDeclaredFields(final @Nonnull Class<?> clazz) {
-        final String cacheKey = clazz.getName();
-        final Field[] cached = DECLARED_FIELDS_CACHE.get(cacheKey);
+        final MemberCache cache = cacheOf(clazz);
+        final Field[] cached = cache.declaredFields;
         if (cached != null) {
             return cached;
         }
@@ -208,7 +199,7 @@ public class ReflectionUtils {
         for (final Field field : fields) {
             field.setAccessible(true);
         }
-        DECLARED_FIELDS_CACHE.put(cacheKey, fields);
+        cache.declaredFields = fields;
         return fields;
     }
 
@@ -263,15 +254,15 @@ public class ReflectionUtils {
      * @throws IllegalStateException If we cannot find this method.
      */
     public static @Nonnull Class<?> getReturnType(final @Nonnull Class<?> clazz, final @Nonnull String methodName, final @Nonnull Class<?>... params) {
-        final String cacheKey = clazz.getName() + "|returnType|" + methodName + "|" + Arrays.toString(params);
-        Class<?> cached = METHOD_RETURN_TYPE_CACHE.get(cacheKey);
+        final MemberCache cache = cacheOf(clazz);
+        final Class<?> cached = (Class<?>) MemberCache.find(cache.returnTypes.get(methodName), null, 0, params);
         if (cached != null) {
             return cached;
         }
         try {
             Method method = clazz.getMethod(methodName, params);
             Class<?> returnType = method.getReturnType();
-            METHOD_RETURN_TYPE_CACHE.put(cacheKey, returnType);
+            cache.returnTypes.compute(methodName, (k, entries) -> MemberCache.append(entries, new MemberCache.Entry(null, 0, params.clone(), returnType)));
             return returnType;
         } catch (NoSuchMethodException e) {
             throw new IllegalStateException(String.format("Unable to find method %s (%s).", methodName, Arrays.asList(params)), e);
@@ -289,40 +280,40 @@ public class ReflectionUtils {
      * @throws IllegalStateException If we cannot find this method.
      */
     public static @Nonnull MethodInvoker getTypedMethod(final @Nonnull Class<?> clazz, final @Nonnull String methodName, final @Nullable Class<?> returnType, final @Nonnull Class<?>... params) {
-        final String cacheKey = clazz.getName() + "|" + methodName + "|" + (returnType != null ? returnType.getName() : "null") + "|" + Arrays.toString(params);
-        final MethodInvoker cached = METHOD_INVOKER_CACHE.get(cacheKey);
+        final MemberCache cache = cacheOf(clazz);
+        final MethodInvoker cached = (MethodInvoker) MemberCache.find(cache.methods.get(methodName), returnType, 0, params);
         if (cached != null) return cached;
+        final MethodInvoker invoker = findMethod(clazz, methodName, returnType, params);
+        cache.methods.compute(methodName, (k, entries) -> MemberCache.append(entries, new MemberCache.Entry(returnType, 0, params.clone(), invoker)));
+        return invoker;
+    }
+
+    /**
+     * Searches the class and its superclasses for the first publicly and privately defined method of the given name and parameters.
+     *
+     * @param clazz      - a class to start with.
+     * @param methodName - the method name.
+     * @param returnType - the expected return type, or NULL to ignore.
+     * @param params     - the expected parameters.
+     * @return An object that invokes this specific method.
+     * @throws IllegalStateException If we cannot find this method.
+     */
+    private static @Nonnull MethodInvoker findMethod(final @Nonnull Class<?> clazz, final @Nonnull String methodName, final @Nullable Class<?> returnType, final @Nonnull Class<?>... params) {
         if (returnType == null) {
             try {
                 final Method method = clazz.getMethod(methodName, params);
                 method.setAccessible(true);
-                final MethodInvoker invoker = (target, arguments) -> {
-                    try {
-                        return method.invoke(target, arguments);
-                    } catch (Exception e) {
-                        throw new RuntimeException("Cannot invoke method " + method, e);
-                    }
-                };
-                METHOD_INVOKER_CACHE.put(cacheKey, invoker);
-                return invoker;
+                return methodInvoker(method);
             } catch (NoSuchMethodException ignored) {}
         }
         for (final Method method : clazz.getDeclaredMethods()) {
             if (method.getName().equals(methodName) && (returnType == null || method.getReturnType().equals(returnType)) && Arrays.equals(method.getParameterTypes(), params)) {
                 method.setAccessible(true);
-                final MethodInvoker invoker = (target, arguments) -> {
-                    try {
-                        return method.invoke(target, arguments);
-                    } catch (Exception e) {
-                        throw new RuntimeException("Cannot invoke method " + method, e);
-                    }
-                };
-                METHOD_INVOKER_CACHE.put(cacheKey, invoker);
-                return invoker;
+                return methodInvoker(method);
             }
         }
         if (clazz.getSuperclass() != null) {
-            return getTypedMethod(clazz.getSuperclass(), methodName, returnType, params);
+            return findMethod(clazz.getSuperclass(), methodName, returnType, params);
         } else {
             throw new IllegalStateException(String.format("Unable to find method %s (%s).", methodName, Arrays.asList(params)));
         }
@@ -380,45 +371,141 @@ public class ReflectionUtils {
      * @throws IllegalStateException If we cannot find this method.
      */
     public static @Nonnull ConstructorInvoker getConstructor(final @Nonnull Class<?> clazz, final @Nonnull Class<?>... params) {
-        final String cacheKey = clazz.getName() + "|" + Arrays.toString(params);
-        Constructor<?> cached = CONSTRUCTOR_CACHE.get(cacheKey);
+        final MemberCache cache = cacheOf(clazz);
+        final ConstructorInvoker cached = (ConstructorInvoker) MemberCache.find(cache.constructors, null, 0, params);
         if (cached != null) {
-            return arguments -> {
-                try {
-                    return cached.newInstance(arguments);
-                } catch (Exception e) {
-                    throw new RuntimeException("Cannot invoke constructor " + cached, e);
-                }
-            };
+            return cached;
         }
         try {
             final Constructor<?> constructor = clazz.getConstructor(params);
             constructor.setAccessible(true);
-            CONSTRUCTOR_CACHE.put(cacheKey, constructor);
-            return arguments -> {
-                try {
-                    return constructor.newInstance(arguments);
-                } catch (Exception e) {
-                    throw new RuntimeException("Cannot invoke constructor " + constructor, e);
-                }
-            };
+            return cache.addConstructor(params, constructorInvoker(constructor));
         } catch (NoSuchMethodException ignored) {}
         for (final Constructor<?> constructor : clazz.getDeclaredConstructors()) {
             if (Arrays.equals(constructor.getParameterTypes(), params)) {
                 constructor.setAccessible(true);
-                CONSTRUCTOR_CACHE.put(cacheKey, constructor);
-                return arguments -> {
-                    try {
-                        return constructor.newInstance(arguments);
-                    } catch (Exception e) {
-                        throw new RuntimeException("Cannot invoke constructor " + constructor, e);
-                    }
-                };
+                return cache.addConstructor(params, constructorInvoker(constructor));
             }
         }
         throw new IllegalStateException(String.format("Unable to find constructor for %s (%s).", clazz, Arrays.asList(params)));
     }
 
+    /**
+     * Creates a field accessor backed by method handles, so that the JIT can inline the access.
+     * Falls back to reflective access for fields that cannot be unreflected, such as final fields.
+     *
+     * @param field - the accessible field.
+     * @return The field accessor.
+     */
+    @SuppressWarnings("unchecked")
+    private static @Nonnull <T> FieldAccessor<T> fieldAccessor(final @Nonnull Field field) {
+        final boolean isStatic = Modifier.isStatic(field.getModifiers());
+        MethodHandle getter;
+        MethodHandle setter;
+        try {
+            getter = LOOKUP.unreflectGetter(field);
+            getter = (isStatic ? MethodHandles.dropArguments(getter, 0, Object.class) : getter).asType(MethodType.methodType(Object.class, Object.class));
+        } catch (IllegalAccessException e) {
+            getter = null;
+        }
+        try {
+            setter = LOOKUP.unreflectSetter(field);
+            setter = (isStatic ? MethodHandles.dropArguments(setter, 0, Object.class) : setter).asType(MethodType.methodType(void.class, Object.class, Object.class));
+        } catch (IllegalAccessException e) {
+            setter = null;
+        }
+        final MethodHandle get = getter;
+        final MethodHandle set = setter;
+        return new FieldAccessor<T>() {
+            @Override
+            public T get(Object target) {
+                try {
+                    return (T) (get != null ? (Object) get.invokeExact(target) : field.get(target));
+                } catch (Throwable t) {
+                    throw new RuntimeException("Cannot access reflection.", t);
+                }
+            }
+            @Override
+            public void set(Object target, Object value) {
+                try {
+                    if (set != null) {
+                        set.invokeExact(target, value);
+                    } else {
+                        field.set(target, value);
+                    }
+                } catch (Throwable t) {
+                    throw new RuntimeException("Cannot access reflection.", t);
+                }
+            }
+            @Override
+            public boolean hasField(Object target) {
+                return field.getDeclaringClass().isAssignableFrom(target.getClass());
+            }
+        };
+    }
+
+    /**
+     * Creates a method invoker backed by a method handle, so that the JIT can inline the invocation.
+     * Falls back to reflective invocation if the method cannot be unreflected.
+     *
+     * @param method - the accessible method.
+     * @return The method invoker.
+     */
+    private static @Nonnull MethodInvoker methodInvoker(final @Nonnull Method method) {
+        try {
+            final int count = method.getParameterTypes().length;
+            MethodHandle handle = LOOKUP.unreflect(method).asFixedArity();
+            if (Modifier.isStatic(method.getModifiers())) {
+                handle = MethodHandles.dropArguments(handle, 0, Object.class);
+            }
+            final MethodHandle spread = handle.asType(MethodType.genericMethodType(count + 1)).asSpreader(Object[].class, count);
+            return (target, arguments) -> {
+                try {
+                    return (Object) spread.invokeExact(target, arguments);
+                } catch (Throwable t) {
+                    throw new RuntimeException("Cannot invoke method " + method, t);
+                }
+            };
+        } catch (IllegalAccessException e) {
+            return (target, arguments) -> {
+                try {
+                    return method.invoke(target, arguments);
+                } catch (Exception e2) {
+                    throw new RuntimeException("Cannot invoke method " + method, e2);
+                }
+            };
+        }
+    }
+
+    /**
+     * Creates a constructor invoker backed by a method handle, so that the JIT can inline the invocation.
+     * Falls back to reflective invocation if the constructor cannot be unreflected.
+     *
+     * @param constructor - the accessible constructor.
+     * @return The constructor invoker.
+     */
+    private static @Nonnull ConstructorInvoker constructorInvoker(final @Nonnull Constructor<?> constructor) {
+        try {
+            final int count = constructor.getParameterTypes().length;
+            final MethodHandle spread = LOOKUP.unreflectConstructor(constructor).asFixedArity().asType(MethodType.genericMethodType(count)).asSpreader(Object[].class, count);
+            return arguments -> {
+                try {
+                    return (Object) spread.invokeExact(arguments);
+                } catch (Throwable t) {
+                    throw new RuntimeException("Cannot invoke constructor " + constructor, t);
+                }
+            };
+        } catch (IllegalAccessException e) {
+            return arguments -> {
+                try {
+                    return constructor.newInstance(arguments);
+                } catch (Exception e2) {
+                    throw new RuntimeException("Cannot invoke constructor " + constructor, e2);
+                }
+            };
+        }
+    }
+
     /**
      * Retrieve a class from its full name, without knowing its type on compile time.
      * <p>
@@ -569,20 +656,8 @@ public class ReflectionUtils {
      * @param index  - The slot to have the item sent.
      */
     public static void sendPacketPlayOutSetSlot(final @Nonnull Player player, final @Nullable ItemStack item, int index, int windowId) {
-        final Class<?> itemStack = getMinecraftClass("ItemStack");
-        final Object nms = getMethod(getCraftBukkitClass("inventory.CraftItemStack"), "asNMSCopy", ItemStack.class).invoke(null, item);
-        final Class<?> playOutSlot = getMinecraftClass("PacketPlayOutSetSlot");
-        Object packet;
-        if (MC_REMAPPED) {
-            try {
-                packet = getConstructor(playOutSlot, int.class, int.class, int.class, itemStack).invoke(windowId, 0, index, itemStack.cast(nms));
-            } catch (Exception e) {
-                packet = getConstructor(playOutSlot, int.class, int.class, itemStack).invoke(windowId, index, itemStack.cast(nms));
-            }
-        } else {
-            packet = getConstructor(playOutSlot, int.class, int.class, itemStack).invoke(windowId, index, itemStack.cast(nms));
-        }
-        sendPacket(player, packet);
+        final Object nms = MinecraftBindings.AS_NMS_COPY.invoke(null, item);
+        sendPacket(player, MinecraftBindings.SET_SLOT_PACKET.invoke(windowId, index, nms));
     }
 
     /**
@@ -594,15 +669,8 @@ public class ReflectionUtils {
     public static void sendPacket(final @Nonnull Player player, final @Nonnull Object packet) {
         final Object nmsPlayer = getEntity(player);
         if (nmsPlayer == null) return;
-        if (ServerUtils.hasUpdate("1_21_7") && ServerUtils.isPaper) {
-            final Object connection = getField(nmsPlayer.getClass(), "connection").get(nmsPlayer);
-            final Class<?> packetClass = getMinecraftClass("Packet");
-            getMethod(connection.getClass(), "send", packetClass).invoke(connection, packet);
-        } else {
-            final Object playerHandle = getField(nmsPlayer.getClass(), MinecraftField.PlayerConnection.getField()).get(nmsPlayer);
-            final Class<?> packetClass = getMinecraftClass("Packet");
-            getMethod(playerHandle.getClass(), MinecraftMethod.sendPacket.getMethod(), packetClass).invoke(playerHandle, packet);
-        }
+        final Object connection = MinecraftBindings.PLAYER_CONNECTION.get(nmsPlayer);
+        MinecraftBindings.SEND_PACKET.invoke(connection, packet);
     }
 
     /**
@@ -947,6 +1015,97 @@ public class ReflectionUtils {
         }
     }
 
+    /**
+     * Gets the member cache of the class, creating it if necessary.
+     *
+     * @param clazz - the class being looked up.
+     * @return The member cache of the class.
+     */
+    private static @Nonnull MemberCache cacheOf(final @Nonnull Class<?> clazz) {
+        final MemberCache cache = MEMBER_CACHE.get(clazz);
+        return cache != null ? cache : MEMBER_CACHE.computeIfAbsent(clazz, key -> new MemberCache());
+    }
+
+    /**
+     * The resolved members of a single class.
+     * Members are grouped by name and matched by type, index and parameters,
+     * so that a warm lookup compares the requested values in place instead of building a key.
+     */
+    private static final class MemberCache {
+        private static final Entry[] EMPTY = new Entry[0];
+        private final Map<String, Entry[]> methods = new ConcurrentHashMap<>();
+        private final Map<String, Entry[]> returnTypes = new ConcurrentHashMap<>();
+        private final Map<String, Entry[]> fields = new ConcurrentHashMap<>();
+        private final Map<String, Field> declaredField = new ConcurrentHashMap<>();
+        private volatile Entry[] constructors = EMPTY;
+        private volatile Field[] declaredFields;
+
+        /**
+         * Finds the value of the entry matching the lookup.
+         *
+         * @param entries - the entries sharing the member name, or NULL if there are none.
+         * @param type    - the expected type, or NULL to ignore.
+         * @param index   - the number of compatible members skipped.
+         * @param params  - the expected parameters, or NULL for fields.
+         * @return The cached value, or NULL if the lookup is not cached.
+         */
+        private static @Nullable Object find(final @Nullable Entry[] entries, final @Nullable Class<?> type, final int index, final @Nullable Class<?>[] params) {
+            if (entries != null) {
+                for (final Entry entry : entries) {
+                    if (entry.type == type && entry.index == index && Arrays.equals(entry.params, params)) {
+                        return entry.value;
+                    }
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Copies the entries with the new entry appended.
+         *
+         * @param entries - the current entries, or NULL if there are none.
+         * @param entry   - the entry being added.
+         * @return The new entries.
+         */
+        private static @Nonnull Entry[] append(final @Nullable Entry[] entries, final @Nonnull Entry entry) {
+            if (entries == null) {
+                return new Entry[]{entry};
+            }
+            final Entry[] appended = Arrays.copyOf(entries, entries.length + 1);
+            appended[entries.length] = entry;
+            return appended;
+        }
+
+        /**
+         * Caches the constructor invoker.
+         *
+         * @param params  - the parameters of the constructor.
+         * @param invoker - the constructor invoker.
+         * @return The constructor invoker.
+         */
+        private synchronized @Nonnull ConstructorInvoker addConstructor(final @Nonnull Class<?>[] params, final @Nonnull ConstructorInvoker invoker) {
+            this.constructors = append(this.constructors, new Entry(null, 0, params.clone(), invoker));
+            return invoker;
+        }
+
+        /**
+         * A single cached lookup.
+         */
+        private static final class Entry {
+            private final Class<?> type;
+            private final int index;
+            private final Class<?>[] params;
+            private final Object value;
+
+            private Entry(final @Nullable Class<?> type, final int index, final @Nullable Class<?>[] params, final @Nonnull Object value) {
+                this.type = type;
+                this.index = index;
+                this.params = params;
+                this.value = value;
+            }
+        }
+    }
+
     /**
      * An interface for invoking a specific constructor.
      */
@@ -1005,16 +1164,33 @@ public class ReflectionUtils {
         boolean hasField(final Object target);
     }
 
+    /**
+     * Resolves the classes used when sending packets and converting items ahead of time,
+     * so that the first player interaction does not pay for their lookup.
+     * Classes that do not exist on this server version are skipped.
+     */
+    public static void warmUp() {
+        for (final String name : new String[]{"ItemStack", "Packet", "PacketPlayOutSetSlot", "IChatBaseComponent"}) {
+            try {
+                getMinecraftClass(name);
+            } catch (Exception e) {
+                ServerUtils.logDebug("{ReflectionUtils} Skipped warming up the class " + name + ".");
+            }
+        }
+        for (final String name : new String[]{"inventory.CraftItemStack", "entity.CraftPlayer"}) {
+            try {
+                getCraftBukkitClass(name);
+            } catch (Exception e) {
+                ServerUtils.logDebug("{ReflectionUtils} Skipped warming up the class " + name + ".");
+            }
+        }
+    }
+
     /**
      * Refreshes the caches.
      */
     public static void refresh() {
         CLASS_CACHE.clear();
-        FIELD_CACHE.clear();
-        CONSTRUCTOR_CACHE.clear();
-        FIELD_ACCESSOR_CACHE.clear();
-        METHOD_INVOKER_CACHE.clear();
-        METHOD_RETURN_TYPE_CACHE.clear();
-        DECLARED_FIELDS_CACHE.clear();
+        MEMBER_CACHE.clear();
     }
 }
\ No newline at end of file
@@ -19,24 +19,30 @@ package me.RockinChaos.core.utils;
 
 import me.RockinChaos.core.Core;
 import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
 
 import javax.annotation.Nonnull;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
+import javax.annotation.Nullable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 
 @SuppressWarnings("unused")
 public class SchedulerUtils {
-    private final static Object globalScheduler = ServerUtils.isFolia ? ReflectionUtils.invokeMethod("getGlobalRegionScheduler", Bukkit.class, Bukkit.getServer()) : null;
-    private final static Object asyncScheduler = ServerUtils.isFolia ? ReflectionUtils.invokeMethod("getAsyncScheduler", Bukkit.class, Bukkit.getServer()) : null;
-
-    private static final HashMap<Integer, Object> scheduledTasks = new HashMap<>();
-    private static final List<Runnable> SINGLE_QUEUE = new ArrayList<>();
-    private static boolean SINGLE_ACTIVE = false;
+    private static final Map<Integer, TaskHandle> scheduledTasks = new ConcurrentHashMap<>();
+    private static final AtomicInteger taskIds = new AtomicInteger();
+    private static final AtomicInteger trackedTasks = new AtomicInteger();
+    private static final int PRUNE_INTERVAL = 64;
+    private static final SerialExecutor SINGLE_EXECUTOR = new SerialExecutor("single");
+    private static final BlockingExecutor BLOCKING_EXECUTOR = new BlockingExecutor();
+    private static final WorkQueue WORK_QUEUE = new WorkQueue("shared", () -> Core.getCore().getData().getTickBudget());
 
     /**
      * Checks if the current thread is synchronous.
@@ -47,10 +53,10 @@ public class SchedulerUtils {
         if (ServerUtils.isFolia) {
             try {
                 final boolean isRegionThread = Thread.currentThread().getName().contains("Region Scheduler");
-                return isRegionThread != (boolean) ReflectionUtils.invokeMethod("isGlobalTickThread", Bukkit.class, Bukkit.getServer());
-            } catch (Exception e) {
+                return isRegionThread != (boolean) FoliaScheduler.GLOBAL_TICK_THREAD.invokeExact();
+            } catch (Throwable t) {
                 ServerUtils.logSevere("{SchedulerUtils (Folia)} Failed to identify if this is not a asynchronous thread.");
-                ServerUtils.sendSevereTrace(e);
+                ServerUtils.sendSevereThrowable(t);
                 return false;
             }
         }
@@ -64,16 +70,17 @@ public class SchedulerUtils {
      */
     public static void run(final @Nonnull Runnable runnable) {
         if (Core.getCore().getPlugin().isEnabled()) {
+            final Runnable timed = TaskProfiler.wrap(runnable, 0L, 0L);
             if (ServerUtils.isFolia) {
                 try {
-                    ReflectionUtils.getMethod(globalScheduler.getClass(), "run", Plugin.class, Consumer.class).invoke(globalScheduler, Core.getCore().getPlugin(), (Consumer<?>) task -> runnable.run());
+                    final Object uniqueTask = (Object) FoliaScheduler.GLOBAL_RUN.invokeExact((Plugin) Core.getCore().getPlugin(), (Consumer<?>) task -> timed.run());
                     return;
-                } catch (Exception e) {
+                } catch (Throwable t) {
                     ServerUtils.logSevere("{SchedulerUtils (Folia)} Failed to run task.");
-                    ServerUtils.sendSevereTrace(e);
+                    ServerUtils.sendSevereThrowable(t);
                 }
             }
-            Bukkit.getScheduler().runTask(Core.getCore().getPlugin(), runnable);
+            Bukkit.getScheduler().runTask(Core.getCore().getPlugin(), timed);
         }
     }
 
@@ -93,67 +100,225 @@ public class SchedulerUtils {
             return 0;
         }
         if (Core.getCore().getPlugin().isEnabled()) {
+            final TaskHandle handle = new TaskHandle(false);
+            final Runnable timed = handle.wrap(TaskProfiler.wrap(runnable, delay, 0L));
             if (ServerUtils.isFolia) {
                 try {
-                    final Object uniqueTask = ReflectionUtils.getMethod(globalScheduler.getClass(), "runDelayed", Plugin.class, Consumer.class, long.class).invoke(globalScheduler, Core.getCore().getPlugin(), (Consumer<?>) task -> runnable.run(), delay);
-                    try {
-                        return (int) ReflectionUtils.getMethod(uniqueTask.getClass(), "getTaskId").invoke(uniqueTask);
-                    } catch (Exception e) {
-                        final int id = StringUtils.getRandom(0, 100000000);
-                        scheduledTasks.put(id, uniqueTask);
-                        return id;
-                    }
-                } catch (Exception e) {
+                    final Object uniqueTask = (Object) FoliaScheduler.GLOBAL_RUN_DELAYED.invokeExact((Plugin) Core.getCore().getPlugin(), (Consumer<?>) task -> timed.run(), delay);
+                    return track(handle, uniqueTask);
+                } catch (Throwable t) {
                     ServerUtils.logSevere("{SchedulerUtils (Folia)} Failed to run task later.");
-                    ServerUtils.sendSevereTrace(e);
+                    ServerUtils.sendSevereThrowable(t);
                     return 0;
                 }
             }
-            return Bukkit.getScheduler().runTaskLater(Core.getCore().getPlugin(), runnable, delay).getTaskId();
+            return track(handle, Bukkit.getScheduler().runTaskLater(Core.getCore().getPlugin(), timed, delay));
         }
         return 0;
     }
 
     /**
-     * Runs the task on the player's region thread (Folia) or the main thread (Bukkit/Paper).
+     * Runs the task on the region thread owning the location (Folia) or the main thread (Bukkit/Paper).
      *
-     * @param player   - The player to run the task for.
+     * @param location - The location the task operates on.
+     * @param runnable - The task to be performed.
+     */
+    public static void runAt(final @Nonnull Location location, final @Nonnull Runnable runnable) {
+        if (Core.getCore().getPlugin().isEnabled()) {
+            final Runnable timed = TaskProfiler.wrap(runnable, 0L, 0L);
+            if (ServerUtils.isFolia) {
+                try {
+                    FoliaScheduler.REGION_EXECUTE.invokeExact((Plugin) Core.getCore().getPlugin(), location, timed);
+                } catch (Throwable t) {
+                    ServerUtils.logSevere("{SchedulerUtils (Folia)} Failed to run location task.");
+                    ServerUtils.sendSevereThrowable(t);
+                }
+                return;
+            }
+            Bukkit.getScheduler().runTask(Core.getCore().getPlugin(), timed);
+        }
+    }
+
+    /**
+     * Runs the task on the region thread owning the location (Folia) or the main thread (Bukkit/Paper).
+     *
+     * @param location - The location the task operates on.
      * @param delay    - The ticks to wait before performing the task.
      * @param runnable - The task to be performed.
      * @return The task identifier.
      */
-    public static int runPlayerLater(final @Nonnull Player player, final long delay, final @Nonnull Runnable runnable) {
-        if (delay <= 0) {
-            try {
-                runnable.run();
-            } catch (Exception e) {
-                run(runnable);
+    public static int runAtLater(final @Nonnull Location location, final long delay, final @Nonnull Runnable runnable) {
+        if (Core.getCore().getPlugin().isEnabled()) {
+            final TaskHandle handle = new TaskHandle(false);
+            final Runnable timed = handle.wrap(TaskProfiler.wrap(runnable, delay, 0L));
+            if (ServerUtils.isFolia) {
+                try {
+                    final Object uniqueTask = (Object) FoliaScheduler.REGION_RUN_DELAYED.invokeExact((Plugin) Core.getCore().getPlugin(), location, (Consumer<?>) task -> timed.run(), Math.max(1L, delay));
+                    return track(handle, uniqueTask);
+                } catch (Throwable t) {
+                    ServerUtils.logSevere("{SchedulerUtils (Folia)} Failed to run location task later.");
+                    ServerUtils.sendSevereThrowable(t);
+                    return 0;
+                }
             }
-            return 0;
+            return track(handle, Bukkit.getScheduler().runTaskLater(Core.getCore().getPlugin(), timed, delay));
         }
+        return 0;
+    }
+
+    /**
+     * Runs the repeating task on the region thread owning the location (Folia) or the main thread (Bukkit/Paper).
+     *
+     * @param location - The location the task operates on.
+     * @param delay    - The ticks to wait before performing the task.
+     * @param interval - The interval in which to run the task.
+     * @param runnable - The task to be performed.
+     * @return The repeating task identifier.
+     */
+    public static int runAtInterval(final @Nonnull Location location, final long delay, final long interval, final @Nonnull Runnable runnable) {
         if (Core.getCore().getPlugin().isEnabled()) {
+            final TaskHandle handle = new TaskHandle(true);
+            final Runnable timed = handle.wrap(TaskProfiler.wrap(runnable, delay, interval));
             if (ServerUtils.isFolia) {
                 try {
-                    final Object entityScheduler = ReflectionUtils.invokeMethod("getScheduler", player);
-                    final Object uniqueTask = ReflectionUtils.getMethod(entityScheduler.getClass(), "runDelayed", Plugin.class, Consumer.class, Runnable.class, long.class).invoke(entityScheduler, Core.getCore().getPlugin(), (Consumer<?>) task -> runnable.run(), null, delay);
-                    try {
-                        return (int) ReflectionUtils.getMethod(uniqueTask.getClass(), "getTaskId").invoke(uniqueTask);
-                    } catch (Exception e) {
-                        final int id = StringUtils.getRandom(0, 100000000);
-                        scheduledTasks.put(id, uniqueTask);
-                        return id;
+                    final Object uniqueTask = (Object) FoliaScheduler.REGION_RUN_AT_FIXED_RATE.invokeExact((Plugin) Core.getCore().getPlugin(), location, (Consumer<?>) task -> timed.run(), Math.max(1L, delay), Math.max(1L, interval));
+                    return track(handle, uniqueTask);
+                } catch (Throwable t) {
+                    ServerUtils.logSevere("{SchedulerUtils (Folia)} Failed to run repeating location task.");
+                    ServerUtils.sendSevereThrowable(t);
+                    return 0;
+                }
+            }
+            return track(handle, Bukkit.getScheduler().runTaskTimer(Core.getCore().getPlugin(), timed, delay, interval));
+        }
+        return 0;
+    }
+
+    /**
+     * Runs the task on the region thread owning the entity (Folia) or the main thread (Bukkit/Paper).
+     * On Folia the task follows the entity across regions and is not run if the entity is removed.
+     *
+     * @param entity   - The entity the task operates on.
+     * @param runnable - The task to be performed.
+     */
+    public static void runForEntity(final @Nonnull Entity entity, final @Nonnull Runnable runnable) {
+        if (Core.getCore().getPlugin().isEnabled()) {
+            final Runnable timed = TaskProfiler.wrap(runnable, 0L, 0L);
+            if (ServerUtils.isFolia) {
+                try {
+                    final Object entityScheduler = (Object) FoliaScheduler.ENTITY_SCHEDULER.invokeExact(entity);
+                    final Object uniqueTask = (Object) FoliaScheduler.ENTITY_RUN.invokeExact(entityScheduler, (Plugin) Core.getCore().getPlugin(), (Consumer<?>) task -> timed.run(), (Runnable) null);
+                } catch (Throwable t) {
+                    ServerUtils.logSevere("{SchedulerUtils (Folia)} Failed to run entity task.");
+                    ServerUtils.sendSevereThrowable(t);
+                }
+                return;
+            }
+            Bukkit.getScheduler().runTask(Core.getCore().getPlugin(), timed);
+        }
+    }
+
+    /**
+     * Runs the task on the region thread owning the entity (Folia) or the main thread (Bukkit/Paper).
+     * On Folia the task follows the entity across regions and is not run if the entity is removed.
+     *
+     * @param entity   - The entity the task operates on.
+     * @param delay    - The ticks to wait before performing the task.
+     * @param runnable - The task to be performed.
+     * @return The task identifier.
+     */
+    public static int runForEntityLater(final @Nonnull Entity entity, final long delay, final @Nonnull Runnable runnable) {
+        return runForEntityLater(entity, delay, runnable, null);
+    }
+
+    /**
+     * Runs the task on the region thread owning the entity (Folia) or the main thread (Bukkit/Paper).
+     * On Folia the task follows the entity across regions, if the entity is removed the retired task is run instead.
+     *
+     * @param entity   - The entity the task operates on.
+     * @param delay    - The ticks to wait before performing the task.
+     * @param runnable - The task to be performed.
+     * @param retired  - The task performed instead if the entity is removed before the task runs (Folia only), or null.
+     * @return The task identifier.
+     */
+    public static int runForEntityLater(final @Nonnull Entity entity, final long delay, final @Nonnull Runnable runnable, final @Nullable Runnable retired) {
+        if (Core.getCore().getPlugin().isEnabled()) {
+            final TaskHandle handle = new TaskHandle(false);
+            final Runnable timed = handle.wrap(TaskProfiler.wrap(runnable, delay, 0L));
+            if (ServerUtils.isFolia) {
+                try {
+                    final Object entityScheduler = (Object) FoliaScheduler.ENTITY_SCHEDULER.invokeExact(entity);
+                    final Object uniqueTask = (Object) FoliaScheduler.ENTITY_RUN_DELAYED.invokeExact(entityScheduler, (Plugin) Core.getCore().getPlugin(), (Consumer<?>) task -> timed.run(), (Runnable) () -> {
+                        handle.retire();
+                        if (retired != null) {
+                            retired.run();
+                        }
+                    }, Math.max(1L, delay));
+                    if (uniqueTask == null && retired != null) {
+                        retired.run();
                     }
-                } catch (Exception e) {
-                    ServerUtils.logSevere("{SchedulerUtils (Folia)} Failed to run player task later.");
-                    ServerUtils.sendSevereTrace(e);
+                    return track(handle, uniqueTask);
+                } catch (Throwable t) {
+                    ServerUtils.logSevere("{SchedulerUtils (Folia)} Failed to run entity task later.");
+                    ServerUtils.sendSevereThrowable(t);
+                    return 0;
+                }
+            }
+            return track(handle, Bukkit.getScheduler().runTaskLater(Core.getCore().getPlugin(), timed, delay));
+        }
+        return 0;
+    }
+
+    /**
+     * Runs the repeating task on the region thread owning the entity (Folia) or the main thread (Bukkit/Paper).
+     * On Folia the task follows the entity across regions and stops once the entity is removed.
+     *
+     * @param entity   - The entity the task operates on.
+     * @param delay    - The ticks to wait before performing the task.
+     * @param interval - The interval in which to run the task.
+     * @param runnable - The task to be performed.
+     * @return The repeating task identifier.
+     */
+    public static int runForEntityAtInterval(final @Nonnull Entity entity, final long delay, final long interval, final @Nonnull Runnable runnable) {
+        if (Core.getCore().getPlugin().isEnabled()) {
+            final TaskHandle handle = new TaskHandle(true);
+            final Runnable timed = handle.wrap(TaskProfiler.wrap(runnable, delay, interval));
+            if (ServerUtils.isFolia) {
+                try {
+                    final Object entityScheduler = (Object) FoliaScheduler.ENTITY_SCHEDULER.invokeExact(entity);
+                    final Object uniqueTask = (Object) FoliaScheduler.ENTITY_RUN_AT_FIXED_RATE.invokeExact(entityScheduler, (Plugin) Core.getCore().getPlugin(), (Consumer<?>) task -> timed.run(), (Runnable) handle::retire, Math.max(1L, delay), Math.max(1L, interval));
+                    return track(handle, uniqueTask);
+                } catch (Throwable t) {
+                    ServerUtils.logSevere("{SchedulerUtils (Folia)} Failed to run repeating entity task.");
+                    ServerUtils.sendSevereThrowable(t);
                     return 0;
                 }
             }
-            return Bukkit.getScheduler().runTaskLater(Core.getCore().getPlugin(), runnable, delay).getTaskId();
+            return track(handle, Bukkit.getScheduler().runTaskTimer(Core.getCore().getPlugin(), timed, delay, interval));
         }
         return 0;
     }
 
+    /**
+     * Runs the task on the player's region thread (Folia) or the main thread (Bukkit/Paper).
+     *
+     * @param player   - The player to run the task for.
+     * @param delay    - The ticks to wait before performing the task.
+     * @param runnable - The task to be performed.
+     * @return The task identifier.
+     */
+    public static int runPlayerLater(final @Nonnull Player player, final long delay, final @Nonnull Runnable runnable) {
+        if (delay <= 0) {
+            try {
+                runnable.run();
+            } catch (Exception e) {
+                run(runnable);
+            }
+            return 0;
+        }
+        return runForEntityLater(player, delay, runnable);
+    }
+
     /**
      * Runs the repeating task on the main thread.
      *
@@ -164,44 +329,46 @@ public class SchedulerUtils {
      */
     public static int runAtInterval(final long delay, final long interval, final @Nonnull Runnable runnable) {
         if (Core.getCore().getPlugin().isEnabled()) {
+            final TaskHandle handle = new TaskHandle(true);
+            final Runnable timed = handle.wrap(TaskProfiler.wrap(runnable, delay, interval));
             if (ServerUtils.isFolia) {
                 try {
-                    final Object uniqueTask = ReflectionUtils.getMethod(globalScheduler.getClass(), "runAtFixedRate", Plugin.class, Consumer.class, long.class, long.class).invoke(globalScheduler, Core.getCore().getPlugin(), (Consumer<?>) task -> runnable.run(), delay == 0 ? 1 : delay, interval == 0 ? 1 : interval);
-                    try {
-                        return (int) ReflectionUtils.getMethod(uniqueTask.getClass(), "getTaskId").invoke(uniqueTask);
-                    } catch (Exception e) {
-                        final int id = StringUtils.getRandom(0, 100000000);
-                        scheduledTasks.put(id, uniqueTask);
-                        return id;
-                    }
-                } catch (Exception e) {
+                    final Object uniqueTask = (Object) FoliaScheduler.GLOBAL_RUN_AT_FIXED_RATE.invokeExact((Plugin) Core.getCore().getPlugin(), (Consumer<?>) task -> timed.run(), delay == 0 ? 1L : delay, interval == 0 ? 1L : interval);
+                    return track(handle, uniqueTask);
+                } catch (Throwable t) {
                     ServerUtils.logSevere("{SchedulerUtils (Folia)} Failed to run repeating task.");
-                    ServerUtils.sendSevereTrace(e);
+                    ServerUtils.sendSevereThrowable(t);
                     return 0;
                 }
             }
-            return Bukkit.getScheduler().scheduleSyncRepeatingTask(Core.getCore().getPlugin(), runnable, delay, interval);
+            return track(handle, Bukkit.getScheduler().runTaskTimer(Core.getCore().getPlugin(), timed, delay, interval));
         }
         return 0;
     }
 
     /**
      * Runs the task on another thread.
+     * When virtual threads are enabled and supported the task runs on a virtual thread instead of the server's async pool.
      *
      * @param runnable - The task to be performed.
      */
     public static void runAsync(final @Nonnull Runnable runnable) {
         if (Core.getCore().getPlugin().isEnabled()) {
+            final Runnable timed = TaskProfiler.wrap(runnable, 0L, 0L);
+            if (Core.getCore().getData().isVirtualThreads() && BLOCKING_EXECUTOR.isVirtual()) {
+                BLOCKING_EXECUTOR.execute(timed);
+                return;
+            }
             if (ServerUtils.isFolia) {
                 try {
-                    ReflectionUtils.getMethod(asyncScheduler.getClass(), "runNow", Plugin.class, Consumer.class).invoke(asyncScheduler, Core.getCore().getPlugin(), (Consumer<?>) task -> runnable.run());
-                } catch (Exception e) {
+                    final Object uniqueTask = (Object) FoliaScheduler.ASYNC_RUN_NOW.invokeExact((Plugin) Core.getCore().getPlugin(), (Consumer<?>) task -> timed.run());
+                } catch (Throwable t) {
                     ServerUtils.logSevere("{SchedulerUtils (Folia)} Failed to run task asynchronously.");
-                    ServerUtils.sendSevereTrace(e);
+                    ServerUtils.sendSevereThrowable(t);
                 }
                 return;
             }
-            Bukkit.getScheduler().runTaskAsynchronously(Core.getCore().getPlugin(), runnable);
+            Bukkit.getScheduler().runTaskAsynchronously(Core.getCore().getPlugin(), timed);
         }
     }
 
@@ -215,23 +382,19 @@ public class SchedulerUtils {
     public static int runAsyncLater(final long delay, final @Nonnull Runnable runnable) {
         if (delay <= 0) { runAsync(runnable); return 0; }
         if (Core.getCore().getPlugin().isEnabled()) {
+            final TaskHandle handle = new TaskHandle(false);
+            final Runnable timed = handle.wrap(TaskProfiler.wrap(runnable, delay, 0L));
             if (ServerUtils.isFolia) {
                 try {
-                    final Object uniqueTask = ReflectionUtils.getMethod(asyncScheduler.getClass(), "runDelayed", Plugin.class, Consumer.class, long.class, TimeUnit.class).invoke(asyncScheduler, Core.getCore().getPlugin(), (Consumer<?>) task -> runnable.run(), StringUtils.ticksToMillis(delay), TimeUnit.MILLISECONDS);
-                    try {
-                        return (int) ReflectionUtils.getMethod(uniqueTask.getClass(), "getTaskId").invoke(uniqueTask);
-                    } catch (Exception e) {
-                        final int id = StringUtils.getRandom(0, 100000000);
-                        scheduledTasks.put(id, uniqueTask);
-                        return id;
-                    }
-                } catch (Exception e) {
+                    final Object uniqueTask = (Object) FoliaScheduler.ASYNC_RUN_DELAYED.invokeExact((Plugin) Core.getCore().getPlugin(), (Consumer<?>) task -> timed.run(), StringUtils.ticksToMillis(delay), TimeUnit.MILLISECONDS);
+                    return track(handle, uniqueTask);
+                } catch (Throwable t) {
                     ServerUtils.logSevere("{SchedulerUtils (Folia)} Failed to run task later asynchronously.");
-                    ServerUtils.sendSevereTrace(e);
+                    ServerUtils.sendSevereThrowable(t);
                     return 0;
                 }
             }
-            return Bukkit.getScheduler().runTaskLaterAsynchronously(Core.getCore().getPlugin(), runnable, delay).getTaskId();
+            return track(handle, Bukkit.getScheduler().runTaskLaterAsynchronously(Core.getCore().getPlugin(), timed, delay));
         }
         return 0;
     }
@@ -246,91 +409,221 @@ public class SchedulerUtils {
      */
     public static int runAsyncAtInterval(final long delay, final long interval, final @Nonnull Runnable runnable) {
         if (Core.getCore().getPlugin().isEnabled()) {
+            final TaskHandle handle = new TaskHandle(true);
+            final Runnable timed = handle.wrap(TaskProfiler.wrap(runnable, delay, interval));
             if (ServerUtils.isFolia) {
                 try {
-                    final Object uniqueTask = ReflectionUtils.getMethod(asyncScheduler.getClass(), "runAtFixedRate", Plugin.class, Consumer.class, long.class, long.class, TimeUnit.class).invoke(asyncScheduler, Core.getCore().getPlugin(), (Consumer<?>) task -> runnable.run(), StringUtils.ticksToMillis(delay == 0 ? 1 : delay), StringUtils.ticksToMillis(interval == 0 ? 1 : interval), TimeUnit.MILLISECONDS);
-                    try {
-                        return (int) ReflectionUtils.getMethod(uniqueTask.getClass(), "getTaskId").invoke(uniqueTask);
-                    } catch (Exception e) {
-                        final int id = StringUtils.getRandom(0, 100000000);
-                        scheduledTasks.put(id, uniqueTask);
-                        return id;
-                    }
-                } catch (Exception e) {
+                    final Object uniqueTask = (Object) FoliaScheduler.ASYNC_RUN_AT_FIXED_RATE.invokeExact((Plugin) Core.getCore().getPlugin(), (Consumer<?>) task -> timed.run(), StringUtils.ticksToMillis(delay == 0 ? 1 : delay), StringUtils.ticksToMillis(interval == 0 ? 1 : interval), TimeUnit.MILLISECONDS);
+                    return track(handle, uniqueTask);
+                } catch (Throwable t) {
                     ServerUtils.logSevere("{SchedulerUtils (Folia)} Failed to run interval task asynchronously.");
-                    ServerUtils.sendSevereTrace(e);
+                    ServerUtils.sendSevereThrowable(t);
                 }
             }
-            return Bukkit.getScheduler().runTaskTimerAsynchronously(Core.getCore().getPlugin(), runnable, delay, interval).getTaskId();
+            return track(handle, Bukkit.getScheduler().runTaskTimerAsynchronously(Core.getCore().getPlugin(), timed, delay, interval));
         }
         return 0;
     }
 
+    /**
+     * Runs blocking work such as HTTP requests or dependency lookups on another thread.
+     * The task runs on a virtual thread when enabled and supported, otherwise on a bounded pool of platform threads,
+     * so that blocking tasks never occupy the server's async pool.
+     *
+     * @param runnable - The task to be performed.
+     */
+    public static void runBlocking(final @Nonnull Runnable runnable) {
+        if (Core.getCore().getPlugin().isEnabled()) {
+            BLOCKING_EXECUTOR.execute(TaskProfiler.wrap(runnable, 0L, 0L));
+        }
+    }
+
+    /**
+     * Gets the executor running blocking work, for use with {@link java.util.concurrent.CompletableFuture}.
+     *
+     * @return The blocking executor.
+     */
+    public static @Nonnull Executor getBlockingExecutor() {
+        return BLOCKING_EXECUTOR;
+    }
+
     /**
      * Runs the task on another thread without duplication.
+     * Tasks are run one at a time, in the order they were queued.
      *
      * @param runnable - The task to be performed.
      */
     public static void runSingleAsync(final @Nonnull Runnable runnable) {
-        SINGLE_QUEUE.add(runnable);
-        if (!SINGLE_ACTIVE) {
-            SINGLE_ACTIVE = true;
-            cycleAsync();
-        }
+        SINGLE_EXECUTOR.execute(TaskProfiler.wrap(runnable, 0L, 0L));
+    }
+
+    /**
+     * Runs the task on another thread without duplication.
+     * Tasks are run one at a time, in the order they were queued,
+     * a task is discarded if another task queued with the same key has not yet run.
+     *
+     * @param key      - The key the task is coalesced by.
+     * @param runnable - The task to be performed.
+     * @return If the task was queued, false if a task with the same key is already waiting to run.
+     */
+    public static boolean runSingleAsync(final @Nonnull Object key, final @Nonnull Runnable runnable) {
+        return SINGLE_EXECUTOR.submit(key, TaskProfiler.wrap(runnable, 0L, 0L));
     }
 
     /**
      * Runs the task on another thread without duplication.
+     * Starts draining the queued single tasks if they are not already being drained.
      */
     public static void cycleAsync() {
-        if (Core.getCore().getPlugin().isEnabled()) {
-            if (!SINGLE_QUEUE.isEmpty()) {
-                final Runnable runnable = SINGLE_QUEUE.get(0);
-                final Consumer<Runnable> runnableConsumer = task -> {
-                    runnable.run();
-                    SINGLE_QUEUE.remove(runnable);
-                    cycleAsync();
-                };
-                if (ServerUtils.isFolia) {
-                    try {
-                        ReflectionUtils.getMethod(asyncScheduler.getClass(), "runNow", Plugin.class, Consumer.class).invoke(asyncScheduler, Core.getCore().getPlugin(), runnableConsumer);
-                    } catch (Exception e) {
-                        ServerUtils.logSevere("{SchedulerUtils (Folia)} Failed to run single task asynchronously.");
-                        ServerUtils.sendSevereTrace(e);
-                    }
-                    return;
-                }
-                Bukkit.getScheduler().runTaskAsynchronously(Core.getCore().getPlugin(), () -> runnableConsumer.accept(runnable));
-            } else {
-                SINGLE_ACTIVE = false;
+        SINGLE_EXECUTOR.schedule();
+    }
+
+    /**
+     * Gets the executor running the single tasks, used to read its queue depth and drain time.
+     *
+     * @return The single task executor.
+     */
+    public static @Nonnull SerialExecutor getSingleExecutor() {
+        return SINGLE_EXECUTOR;
+    }
+
+    /**
+     * Runs the task on the main thread (Bukkit/Paper) or global region thread (Folia) within the shared tick budget.
+     * Use this for the many small units of a fan-out, units that do not fit the budget run on the following tick.
+     *
+     * @param runnable - The task to be performed.
+     */
+    public static void runBudgeted(final @Nonnull Runnable runnable) {
+        WORK_QUEUE.submit(runnable);
+    }
+
+    /**
+     * Runs the task on the thread owning the entity within the shared tick budget.
+     * On Folia each region is given its own budget, the task is dropped if the entity is removed before it runs.
+     *
+     * @param entity   - The entity the task operates on.
+     * @param runnable - The task to be performed.
+     */
+    public static void runBudgeted(final @Nonnull Entity entity, final @Nonnull Runnable runnable) {
+        WORK_QUEUE.submit(entity, runnable);
+    }
+
+    /**
+     * Runs the task on the thread owning the location within the shared tick budget.
+     * On Folia each region is given its own budget.
+     *
+     * @param location - The location the task operates on.
+     * @param runnable - The task to be performed.
+     */
+    public static void runBudgeted(final @Nonnull Location location, final @Nonnull Runnable runnable) {
+        WORK_QUEUE.submit(location, runnable);
+    }
+
+    /**
+     * Gets the shared tick-budgeted work queue, used to read its queue depth and drain time.
+     *
+     * @return The shared work queue.
+     */
+    public static @Nonnull WorkQueue getWorkQueue() {
+        return WORK_QUEUE;
+    }
+
+    /**
+     * Binds the handle to its scheduled task and registers it until the task completes,
+     * so that it can be looked up through {@link #getTask(int)} and canceled through {@link #cancelTask(int)}.
+     *
+     * @param handle     - The handle of the task.
+     * @param uniqueTask - The BukkitTask or Folia ScheduledTask, null if the task was not scheduled because its entity was removed.
+     * @return The task identifier.
+     */
+    private static int track(final @Nonnull TaskHandle handle, final @Nullable Object uniqueTask) {
+        if (uniqueTask == null) {
+            handle.retire();
+            return 0;
+        }
+        int id;
+        if (uniqueTask instanceof BukkitTask) {
+            id = ((BukkitTask) uniqueTask).getTaskId();
+        } else {
+            do {
+                id = taskIds.incrementAndGet();
+            } while (id == 0);
+        }
+        handle.bind(id, uniqueTask);
+        scheduledTasks.put(id, handle);
+        if (handle.isDone()) {
+            scheduledTasks.remove(id, handle);
+        }
+        if (trackedTasks.incrementAndGet() % PRUNE_INTERVAL == 0) {
+            prune();
+        }
+        return id;
+    }
+
+    /**
+     * Releases the handles of BukkitTasks that were canceled through the Bukkit scheduler instead of through SchedulerUtils,
+     * such as a repeating task canceling itself from its own body.
+     */
+    private static void prune() {
+        if (ServerUtils.isFolia) {
+            return;
+        }
+        for (final TaskHandle handle : scheduledTasks.values()) {
+            if (handle.isAbandoned()) {
+                handle.retire();
             }
         }
     }
 
+    /**
+     * Releases the handle of a completed, canceled, or retired task from the task registry.
+     *
+     * @param handle - The handle of the task.
+     */
+    static void release(final @Nonnull TaskHandle handle) {
+        final int id = handle.getTaskId();
+        if (id != 0) {
+            scheduledTasks.remove(id, handle);
+        }
+    }
+
+    /**
+     * Gets the handle of a scheduled task that has not yet completed.
+     *
+     * @param taskId - The task identifier.
+     * @return The task handle, null if the task has completed, was canceled, or was not scheduled through SchedulerUtils.
+     */
+    public static @Nullable TaskHandle getTask(final int taskId) {
+        final TaskHandle handle = scheduledTasks.get(taskId);
+        if (handle != null && handle.isAbandoned()) {
+            handle.retire();
+            return null;
+        }
+        return handle;
+    }
+
+    /**
+     * Gets the number of scheduled tasks that have not yet completed.
+     *
+     * @return The number of pending tasks.
+     */
+    public static int getPendingTasks() {
+        prune();
+        return scheduledTasks.size();
+    }
+
     /**
      * Cancels the scheduled task for the specified taskId.
      *
      * @param taskId - The scheduled task to be canceled.
      */
     public static void cancelTask(final int taskId) {
-        if (ServerUtils.isFolia) {
-            try {
-                try {
-                    ReflectionUtils.getMethod(globalScheduler.getClass(), "cancelTask", int.class).invoke(globalScheduler, taskId);
-                    ReflectionUtils.getMethod(asyncScheduler.getClass(), "cancelTask", int.class).invoke(asyncScheduler, taskId);
-                } catch (Exception e) {
-                    final Object uniqueTask = scheduledTasks.remove(taskId);
-                    if (uniqueTask != null) {
-                        ReflectionUtils.getMethod(uniqueTask.getClass(), "cancel").invoke(uniqueTask);
-                    }
-                }
-            } catch (Exception e) {
-                ServerUtils.logSevere("{SchedulerUtils (Folia)} Failed to cancel scheduled task with the id " + taskId + ".");
-                ServerUtils.sendSevereTrace(e);
-            }
-            return;
+        final TaskHandle handle = scheduledTasks.get(taskId);
+        if (handle != null) {
+            handle.cancel();
+        } else if (!ServerUtils.isFolia && taskId != 0) {
+            Bukkit.getScheduler().cancelTask(taskId);
         }
-        Bukkit.getScheduler().cancelTask(taskId);
     }
 
     /**
@@ -339,14 +632,22 @@ public class SchedulerUtils {
     public static void cancelTasks() {
         if (ServerUtils.isFolia) {
             try {
-                ReflectionUtils.getMethod(globalScheduler.getClass(), "cancelTasks", Plugin.class).invoke(globalScheduler, Core.getCore().getPlugin());
-                ReflectionUtils.getMethod(asyncScheduler.getClass(), "cancelTasks", Plugin.class).invoke(asyncScheduler, Core.getCore().getPlugin());
-            } catch (Exception e) {
+                FoliaScheduler.GLOBAL_CANCEL_TASKS.invokeExact((Plugin) Core.getCore().getPlugin());
+                FoliaScheduler.ASYNC_CANCEL_TASKS.invokeExact((Plugin) Core.getCore().getPlugin());
+            } catch (Throwable t) {
                 ServerUtils.logSevere("{SchedulerUtils (Folia)} Failed to cancel all scheduled tasks.");
-                ServerUtils.sendSevereTrace(e);
+                ServerUtils.sendSevereThrowable(t);
+            }
+            for (final TaskHandle handle : scheduledTasks.values()) {
+                handle.cancel();
             }
+            BLOCKING_EXECUTOR.shutdown();
             return;
         }
         Bukkit.getScheduler().cancelTasks(Core.getCore().getPlugin());
+        BLOCKING_EXECUTOR.shutdown();
+        for (final TaskHandle handle : scheduledTasks.values()) {
+            handle.retire();
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,236 @@
+/*
+ * ChaosCore
+ * Copyright (C) CraftationGaming <https://www.craftationgaming.com/>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package me.RockinChaos.core.utils;
+
+import me.RockinChaos.core.Core;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Runs tasks one at a time, in submission order, on another thread.
+ * Tasks are appended to a lock-free queue and a single drain loop runs every queued task per dispatch,
+ * so only the first task submitted to an idle executor costs a scheduler dispatch.
+ * <p>
+ * Tasks submitted with a key are coalesced, while a task is waiting to run any other task submitted with the same key is discarded.
+ */
+@SuppressWarnings("unused")
+public class SerialExecutor implements Executor {
+    private final String name;
+    private final Consumer<Runnable> dispatcher;
+    private final ConcurrentLinkedQueue<Job> queue = new ConcurrentLinkedQueue<>();
+    private final Map<Object, Job> pending = new ConcurrentHashMap<>();
+    private final AtomicBoolean active = new AtomicBoolean(false);
+    private final AtomicInteger depth = new AtomicInteger();
+    private final AtomicLong submittedCount = new AtomicLong();
+    private final AtomicLong coalescedCount = new AtomicLong();
+    private final AtomicLong executedCount = new AtomicLong();
+    private final AtomicLong drainCount = new AtomicLong();
+    private final AtomicLong totalDrainNanos = new AtomicLong();
+    private volatile long lastDrainNanos = 0L;
+    private volatile long maxDrainNanos = 0L;
+
+    /**
+     * Creates a new SerialExecutor dispatching its drain loop through {@link SchedulerUtils#runAsync(Runnable)}.
+     *
+     * @param name - The name of the executor, used when logging failed tasks.
+     */
+    public SerialExecutor(final @Nonnull String name) {
+        this(name, SchedulerUtils::runAsync);
+    }
+
+    /**
+     * Creates a new SerialExecutor.
+     *
+     * @param name       - The name of the executor, used when logging failed tasks.
+     * @param dispatcher - Runs the drain loop on another thread.
+     */
+    public SerialExecutor(final @Nonnull String name, final @Nonnull Consumer<Runnable> dispatcher) {
+        this.name = name;
+        this.dispatcher = dispatcher;
+    }
+
+    /**
+     * Queues the task to be run after all previously queued tasks.
+     *
+     * @param runnable - The task to be performed.
+     */
+    @Override
+    public void execute(final @Nonnull Runnable runnable) {
+        this.submit(null, runnable);
+    }
+
+    /**
+     * Queues the task to be run after all previously queued tasks.
+     *
+     * @param key      - The key the task is coalesced by, or null if the task should never be coalesced.
+     * @param runnable - The task to be performed.
+     * @return If the task was queued, false if a task with the same key is already waiting to run.
+     */
+    public boolean submit(final @Nullable Object key, final @Nonnull Runnable runnable) {
+        final Job job = new Job(key, runnable);
+        if (key != null && this.pending.putIfAbsent(key, job) != null) {
+            this.coalescedCount.incrementAndGet();
+            return false;
+        }
+        this.queue.offer(job);
+        this.depth.incrementAndGet();
+        this.submittedCount.incrementAndGet();
+        this.schedule();
+        return true;
+    }
+
+    /**
+     * Dispatches the drain loop unless it is already running.
+     */
+    public void schedule() {
+        if (!this.queue.isEmpty() && Core.getCore().getPlugin().isEnabled() && this.active.compareAndSet(false, true)) {
+            try {
+                this.dispatcher.accept(this::drain);
+            } catch (RuntimeException e) {
+                this.active.set(false);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Runs every queued task, including tasks queued while draining.
+     */
+    private void drain() {
+        final long start = System.nanoTime();
+        do {
+            Job job;
+            while ((job = this.queue.poll()) != null) {
+                this.depth.decrementAndGet();
+                if (job.key != null) {
+                    this.pending.remove(job.key, job);
+                }
+                try {
+                    job.runnable.run();
+                } catch (Throwable t) { // Errors such as a NoClassDefFoundError after a reload must not leave the executor marked as active.
+                    ServerUtils.logSevere("{SchedulerUtils} A task queued on the " + this.name + " executor failed.");
+                    ServerUtils.sendSevereThrowable(t);
+                }
+                this.executedCount.incrementAndGet();
+            }
+            this.active.set(false);
+        } while (!this.queue.isEmpty() && this.active.compareAndSet(false, true));
+        final long duration = System.nanoTime() - start;
+        this.lastDrainNanos = duration;
+        if (duration > this.maxDrainNanos) {
+            this.maxDrainNanos = duration;
+        }
+        this.totalDrainNanos.addAndGet(duration);
+        this.drainCount.incrementAndGet();
+    }
+
+    /**
+     * Gets the number of tasks waiting to run.
+     *
+     * @return The current queue depth.
+     */
+    public int getQueueDepth() {
+        return this.depth.get();
+    }
+
+    /**
+     * Gets the number of tasks queued.
+     *
+     * @return The number of queued tasks.
+     */
+    public long getSubmittedCount() {
+        return this.submittedCount.get();
+    }
+
+    /**
+     * Gets the number of tasks discarded because a task with the same key was already waiting.
+     *
+     * @return The number of coalesced tasks.
+     */
+    public long getCoalescedCount() {
+        return this.coalescedCount.get();
+    }
+
+    /**
+     * Gets the number of tasks run.
+     *
+     * @return The number of executed tasks.
+     */
+    public long getExecutedCount() {
+        return this.executedCount.get();
+    }
+
+    /**
+     * Gets the number of times the drain loop was dispatched.
+     *
+     * @return The number of drains.
+     */
+    public long getDrainCount() {
+        return this.drainCount.get();
+    }
+
+    /**
+     * Gets the duration of the last drain.
+     *
+     * @return The last drain time in milliseconds.
+     */
+    public double getLastDrainMillis() {
+        return this.lastDrainNanos / 1_000_000.0;
+    }
+
+    /**
+     * Gets the duration of the slowest drain.
+     *
+     * @return The maximum drain time in milliseconds.
+     */
+    public double getMaxDrainMillis() {
+        return this.maxDrainNanos / 1_000_000.0;
+    }
+
+    /**
+     * Gets the average duration of a drain.
+     *
+     * @return The average drain time in milliseconds.
+     */
+    public double getAverageDrainMillis() {
+        final long count = this.drainCount.get();
+        return count == 0 ? 0.0 : (this.totalDrainNanos.get() / (double) count) / 1_000_000.0;
+    }
+
+    /**
+     * A queued task along with the key it is coalesced by.
+     */
+    private static class Job {
+        private final Object key;
+        private final Runnable runnable;
+
+        private Job(final @Nullable Object key, final @Nonnull Runnable runnable) {
+            this.key = key;
+            this.runnable = runnable;
+        }
+    }
+}
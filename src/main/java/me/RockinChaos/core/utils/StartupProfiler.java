@@ -0,0 +1,194 @@
+/*
+ * ChaosCore
+ * Copyright (C) CraftationGaming <https://www.craftationgaming.com/>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package me.RockinChaos.core.utils;
+
+import me.RockinChaos.core.Core;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Times the phases of the plugin startup, from the creation of the {@link Core} until the plugin is marked as started.
+ * The breakdown is logged once startup completes when debugging is enabled.
+ * <p>
+ * Phases may nest, nested phases are reported indented below the phase that ran them.
+ * Once startup has completed phases are no longer recorded, so reloads only pay for the check of a volatile flag.
+ */
+@SuppressWarnings("unused")
+public class StartupProfiler {
+    private static final ConcurrentLinkedQueue<Phase> phases = new ConcurrentLinkedQueue<>();
+    private static final ThreadLocal<Integer> depth = ThreadLocal.withInitial(() -> 0);
+    private static volatile boolean profiling = false;
+    private static volatile long startTime = 0L;
+
+    /**
+     * Starts recording the startup phases, discarding any previous recording.
+     */
+    public static void start() {
+        phases.clear();
+        startTime = System.nanoTime();
+        profiling = true;
+    }
+
+    /**
+     * Runs and times a startup phase.
+     *
+     * @param phase    - The name of the phase.
+     * @param runnable - The phase to be performed.
+     */
+    public static void time(final @Nonnull String phase, final @Nonnull Runnable runnable) {
+        time(phase, () -> {
+            runnable.run();
+            return null;
+        });
+    }
+
+    /**
+     * Runs and times a startup phase.
+     *
+     * @param phase    - The name of the phase.
+     * @param supplier - The phase to be performed.
+     * @return The result of the phase.
+     */
+    public static <T> T time(final @Nonnull String phase, final @Nonnull Supplier<T> supplier) {
+        if (!profiling) {
+            return supplier.get();
+        }
+        final int level = depth.get();
+        final Phase record = new Phase(phase, level, Thread.currentThread().getName());
+        phases.add(record);
+        depth.set(level + 1);
+        final long start = System.nanoTime();
+        try {
+            return supplier.get();
+        } finally {
+            record.nanos = System.nanoTime() - start;
+            depth.set(level);
+        }
+    }
+
+    /**
+     * Runs independent startup phases, each timed under its own name.
+     * When parallel startup is enabled the phases run concurrently on a temporary startup pool and this waits for all of them,
+     * otherwise the phases run one after another on the calling thread.
+     * Phases run in parallel must not touch the Bukkit API that is restricted to the main thread.
+     *
+     * @param tasks - The phases to be performed, in the order they run when not run in parallel.
+     * @throws RuntimeException The first exception thrown by a phase, after every phase has finished.
+     */
+    public static void runParallel(final @Nonnull Map<String, Runnable> tasks) {
+        if (!Core.getCore().getData().isParallelStartup() || tasks.size() < 2) {
+            for (final Map.Entry<String, Runnable> task : tasks.entrySet()) {
+                time(task.getKey(), task.getValue());
+            }
+            return;
+        }
+        final String name = Core.getCore().getPlugin().getName() + "-Startup-";
+        final AtomicInteger counter = new AtomicInteger();
+        final ExecutorService pool = Executors.newFixedThreadPool(Math.min(tasks.size(), Runtime.getRuntime().availableProcessors()), runnable -> {
+            final Thread thread = new Thread(runnable, name + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            final List<Future<?>> futures = new ArrayList<>(tasks.size());
+            for (final Map.Entry<String, Runnable> task : tasks.entrySet()) {
+                futures.add(pool.submit(() -> time(task.getKey(), task.getValue())));
+            }
+            RuntimeException failure = null;
+            for (final Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    if (failure == null) {
+                        failure = e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : new RuntimeException(e.getCause());
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException(e);
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Stops recording and logs the breakdown of the startup phases when debugging is enabled.
+     */
+    public static void report() {
+        if (!profiling) {
+            return;
+        }
+        profiling = false;
+        final long total = System.nanoTime() - startTime;
+        ServerUtils.logDebug("{Startup} Enabled in " + String.format("%.2f", total / 1_000_000.0) + "ms.");
+        for (final Phase phase : phases) {
+            final StringBuilder indent = new StringBuilder();
+            for (int i = 0; i < phase.depth; i++) {
+                indent.append("  ");
+            }
+            ServerUtils.logDebug("{Startup} " + indent + phase.name + ": " + String.format("%.2f", phase.nanos / 1_000_000.0) + "ms ("
+                    + String.format("%.1f", total == 0 ? 0.0 : phase.nanos * 100.0 / total) + "%)" + (phase.thread.equals(Thread.currentThread().getName()) ? "" : " on " + phase.thread));
+        }
+    }
+
+    /**
+     * Gets the recorded duration of a phase.
+     *
+     * @param phase - The name of the phase.
+     * @return The total time spent in the phase in milliseconds, 0 if the phase was not recorded.
+     */
+    public static double getPhaseMillis(final @Nonnull String phase) {
+        long nanos = 0L;
+        for (final Phase record : phases) {
+            if (record.name.equals(phase)) {
+                nanos += record.nanos;
+            }
+        }
+        return nanos / 1_000_000.0;
+    }
+
+    /**
+     * A single recorded startup phase.
+     */
+    private static class Phase {
+        private final String name;
+        private final int depth;
+        private final String thread;
+        private volatile long nanos = 0L;
+
+        private Phase(final @Nonnull String name, final int depth, final @Nonnull String thread) {
+            this.name = name;
+            this.depth = depth;
+            this.thread = thread;
+        }
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * ChaosCore
+ * Copyright (C) CraftationGaming <https://www.craftationgaming.com/>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package me.RockinChaos.core.utils;
+
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A task scheduled through {@link SchedulerUtils}, wrapping the underlying BukkitTask or Folia ScheduledTask.
+ * The handle completes once a single run task has run, or once a task is canceled or retired,
+ * at which point it is released from the task registry so that finished tasks are never retained.
+ * Tasks canceled directly through the Bukkit scheduler are released the next time the registry is pruned.
+ */
+@SuppressWarnings("unused")
+public class TaskHandle {
+    private final boolean repeating;
+    private final CompletableFuture<Void> completion = new CompletableFuture<>();
+    private volatile int taskId = 0;
+    private volatile Object task;
+
+    /**
+     * Creates a new TaskHandle.
+     *
+     * @param repeating - If the task runs at an interval, repeating tasks only complete once canceled.
+     */
+    TaskHandle(final boolean repeating) {
+        this.repeating = repeating;
+    }
+
+    /**
+     * Binds the handle to the scheduled task.
+     *
+     * @param taskId - The task identifier.
+     * @param task   - The BukkitTask or Folia ScheduledTask.
+     */
+    void bind(final int taskId, final @Nonnull Object task) {
+        this.taskId = taskId;
+        this.task = task;
+    }
+
+    /**
+     * Wraps the task so that the handle is completed after a single run task has run.
+     *
+     * @param runnable - The task being scheduled.
+     * @return The wrapped task.
+     */
+    @Nonnull Runnable wrap(final @Nonnull Runnable runnable) {
+        if (this.repeating) {
+            return runnable;
+        }
+        return () -> {
+            try {
+                runnable.run();
+            } catch (RuntimeException | Error e) {
+                this.completion.completeExceptionally(e);
+                SchedulerUtils.release(this);
+                throw e;
+            }
+            this.completion.complete(null);
+            SchedulerUtils.release(this);
+        };
+    }
+
+    /**
+     * Completes the handle as canceled without canceling the underlying task,
+     * used when the scheduler already discarded the task such as when its entity is removed.
+     */
+    void retire() {
+        this.completion.cancel(false);
+        SchedulerUtils.release(this);
+    }
+
+    /**
+     * Checks if the underlying BukkitTask is no longer scheduled although the handle has not completed,
+     * which happens when the task was canceled through the Bukkit scheduler instead of through this handle.
+     *
+     * @return If the handle should be released.
+     */
+    boolean isAbandoned() {
+        if (!(this.task instanceof BukkitTask) || this.isDone()) {
+            return false;
+        }
+        final int id = this.taskId;
+        return !Bukkit.getScheduler().isQueued(id) && !Bukkit.getScheduler().isCurrentlyRunning(id);
+    }
+
+    /**
+     * Cancels the task if it has not yet completed.
+     *
+     * @return If the task was canceled, false if it had already completed.
+     */
+    public boolean cancel() {
+        if (!this.completion.cancel(false)) {
+            return false;
+        }
+        SchedulerUtils.release(this);
+        final Object scheduled = this.task;
+        if (scheduled instanceof BukkitTask) {
+            ((BukkitTask) scheduled).cancel();
+        } else if (scheduled != null) {
+            try {
+                final Object cancelled = (Object) FoliaScheduler.TASK_CANCEL.invokeExact(scheduled);
+            } catch (Throwable t) {
+                ServerUtils.logSevere("{SchedulerUtils (Folia)} Failed to cancel scheduled task with the id " + this.taskId + ".");
+                ServerUtils.sendSevereThrowable(t);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks if the task has completed, been canceled, or failed.
+     *
+     * @return If the task is done.
+     */
+    public boolean isDone() {
+        return this.completion.isDone();
+    }
+
+    /**
+     * Checks if the task was canceled or retired before completing.
+     *
+     * @return If the task was canceled.
+     */
+    public boolean isCancelled() {
+        return this.completion.isCancelled();
+    }
+
+    /**
+     * Checks if the task runs at an interval.
+     *
+     * @return If the task is repeating.
+     */
+    public boolean isRepeating() {
+        return this.repeating;
+    }
+
+    /**
+     * Gets the task identifier, accepted by {@link SchedulerUtils#cancelTask(int)}.
+     *
+     * @return The task identifier, 0 if the task was never scheduled.
+     */
+    public int getTaskId() {
+        return this.taskId;
+    }
+
+    /**
+     * Gets the future completed when the task is done.
+     * The future is completed normally after a single run task has run,
+     * exceptionally if the task threw, and canceled if the task was canceled or retired.
+     *
+     * @return The completion future.
+     */
+    public @Nonnull CompletableFuture<Void> getCompletion() {
+        return this.completion;
+    }
+
+    /**
+     * Gets the underlying BukkitTask or Folia ScheduledTask.
+     *
+     * @return The scheduled task, null if the task was never scheduled.
+     */
+    public @Nullable Object getTask() {
+        return this.task;
+    }
+}
@@ -0,0 +1,408 @@
+/*
+ * ChaosCore
+ * Copyright (C) CraftationGaming <https://www.craftationgaming.com/>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package me.RockinChaos.core.utils;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Optional timing of the tasks scheduled through {@link SchedulerUtils}.
+ * While enabled every task is keyed by its label or, if unlabeled, by the class of the task, which for a lambda identifies the place it was written,
+ * and its run time and queue delay are recorded into power-of-two histograms.
+ * Tasks running longer than the slow threshold are logged as they complete.
+ * <p>
+ * While disabled tasks are scheduled unwrapped, so the only cost is a single volatile read per scheduled task.
+ */
+@SuppressWarnings("unused")
+public class TaskProfiler {
+    private static final int BUCKETS = 24;
+    private static final long TICK_NANOS = 50_000_000L;
+    private static final Map<String, Stats> stats = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, Stats> classStats = new ConcurrentHashMap<>();
+    private static volatile boolean enabled = false;
+    private static volatile long slowThreshold = TICK_NANOS;
+
+    /**
+     * Enables or disables the timing of scheduled tasks.
+     * Tasks scheduled before the profiler is enabled are not timed.
+     *
+     * @param enable - If scheduled tasks should be timed.
+     */
+    public static void setEnabled(final boolean enable) {
+        enabled = enable;
+    }
+
+    /**
+     * Checks if scheduled tasks are being timed.
+     *
+     * @return If the profiler is enabled.
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sets the run time above which a task is logged as slow.
+     *
+     * @param millis - The slow task threshold in milliseconds, 0 to disable slow task logging.
+     */
+    public static void setSlowThreshold(final double millis) {
+        slowThreshold = millis <= 0 ? Long.MAX_VALUE : (long) (millis * 1_000_000.0);
+    }
+
+    /**
+     * Gets the run time above which a task is logged as slow.
+     *
+     * @return The slow task threshold in milliseconds, 0 if slow task logging is disabled.
+     */
+    public static double getSlowThreshold() {
+        return slowThreshold == Long.MAX_VALUE ? 0.0 : slowThreshold / 1_000_000.0;
+    }
+
+    /**
+     * Labels the task so that it is reported under the label instead of the class of the task.
+     *
+     * @param label    - The label of the task.
+     * @param runnable - The task to be performed.
+     * @return The labeled task.
+     */
+    public static @Nonnull Runnable label(final @Nonnull String label, final @Nonnull Runnable runnable) {
+        return new Labeled(label, runnable);
+    }
+
+    /**
+     * Wraps the task with timing if the profiler is enabled.
+     *
+     * @param runnable - The task being scheduled.
+     * @param delay    - The ticks the task waits before its first run.
+     * @param interval - The ticks between runs of a repeating task, 0 if the task runs once.
+     * @return The timed task, or the task itself if the profiler is disabled.
+     */
+    static @Nonnull Runnable wrap(final @Nonnull Runnable runnable, final long delay, final long interval) {
+        if (!enabled) {
+            return runnable;
+        }
+        final Stats stat = runnable instanceof Labeled ? stats.computeIfAbsent(((Labeled) runnable).label, Stats::new) : statsOf(runnable.getClass());
+        return new Timed(stat, runnable, Math.max(0L, delay) * TICK_NANOS, Math.max(0L, interval) * TICK_NANOS);
+    }
+
+    /**
+     * Takes a snapshot of the recorded task timings.
+     *
+     * @return The snapshots of every recorded task, ordered by total run time descending.
+     */
+    public static @Nonnull List<Snapshot> snapshot() {
+        final List<Snapshot> snapshots = new ArrayList<>(stats.size());
+        for (final Stats stat : stats.values()) {
+            snapshots.add(new Snapshot(stat));
+        }
+        snapshots.sort((first, second) -> Long.compare(second.totalRunNanos, first.totalRunNanos));
+        return Collections.unmodifiableList(snapshots);
+    }
+
+    /**
+     * Discards all recorded task timings.
+     */
+    public static void reset() {
+        classStats.clear();
+        stats.clear();
+    }
+
+    /**
+     * Gets the timings of an unlabeled task class, labeled by the class name without its package.
+     *
+     * @param taskClass - The class of the task.
+     * @return The timings of the task class.
+     */
+    private static @Nonnull Stats statsOf(final @Nonnull Class<?> taskClass) {
+        final Stats stat = classStats.get(taskClass);
+        if (stat != null) {
+            return stat;
+        }
+        return classStats.computeIfAbsent(taskClass, clazz -> {
+            final String name = clazz.getName();
+            return stats.computeIfAbsent(name.substring(name.lastIndexOf('.') + 1), Stats::new);
+        });
+    }
+
+    /**
+     * Gets the histogram bucket of the duration, bucket i holding durations below 2^i microseconds.
+     *
+     * @param nanos - The duration in nanoseconds.
+     * @return The bucket index.
+     */
+    private static int bucketOf(final long nanos) {
+        final long micros = nanos / 1_000L;
+        return Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+    }
+
+    /**
+     * Estimates the percentile of a histogram as the upper bound of the bucket containing it.
+     *
+     * @param histogram  - The histogram.
+     * @param count      - The number of recorded durations.
+     * @param percentile - The percentile, between 0 and 100.
+     * @return The estimated duration in milliseconds.
+     */
+    private static double percentileOf(final @Nonnull long[] histogram, final long count, final double percentile) {
+        if (count == 0) {
+            return 0.0;
+        }
+        final long rank = (long) Math.ceil(Math.max(0.0, Math.min(100.0, percentile)) / 100.0 * count);
+        long seen = 0;
+        for (int i = 0; i < histogram.length; i++) {
+            seen += histogram[i];
+            if (seen >= rank) {
+                return (1L << i) / 1_000.0;
+            }
+        }
+        return (1L << (histogram.length - 1)) / 1_000.0;
+    }
+
+    /**
+     * A task scheduled under a fixed label.
+     */
+    private static class Labeled implements Runnable {
+        private final String label;
+        private final Runnable runnable;
+
+        private Labeled(final @Nonnull String label, final @Nonnull Runnable runnable) {
+            this.label = label;
+            this.runnable = runnable;
+        }
+
+        @Override
+        public void run() {
+            this.runnable.run();
+        }
+    }
+
+    /**
+     * A task being timed.
+     */
+    private static class Timed implements Runnable {
+        private final Stats stats;
+        private final Runnable runnable;
+        private final long interval;
+        private volatile long expected;
+
+        private Timed(final @Nonnull Stats stats, final @Nonnull Runnable runnable, final long delay, final long interval) {
+            this.stats = stats;
+            this.runnable = runnable;
+            this.interval = interval;
+            this.expected = System.nanoTime() + delay;
+        }
+
+        @Override
+        public void run() {
+            final long start = System.nanoTime();
+            final long delay = Math.max(0L, start - this.expected);
+            this.expected = start + this.interval;
+            try {
+                this.runnable.run();
+            } finally {
+                final long duration = System.nanoTime() - start;
+                this.stats.record(duration, delay);
+                if (duration >= slowThreshold) {
+                    this.stats.slowCount.incrementAndGet();
+                    ServerUtils.logWarn("{SchedulerUtils} The task " + this.stats.label + " took " + String.format("%.2f", duration / 1_000_000.0) + "ms to run on the thread " + Thread.currentThread().getName() + ".");
+                }
+            }
+        }
+    }
+
+    /**
+     * The recorded timings of a single task label.
+     */
+    private static class Stats {
+        private final String label;
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong slowCount = new AtomicLong();
+        private final AtomicLong totalRunNanos = new AtomicLong();
+        private final AtomicLong totalDelayNanos = new AtomicLong();
+        private final AtomicLong maxRunNanos = new AtomicLong();
+        private final AtomicLong maxDelayNanos = new AtomicLong();
+        private final AtomicLongArray runHistogram = new AtomicLongArray(BUCKETS);
+        private final AtomicLongArray delayHistogram = new AtomicLongArray(BUCKETS);
+
+        private Stats(final @Nonnull String label) {
+            this.label = label;
+        }
+
+        /**
+         * Records a single run of the task.
+         *
+         * @param run   - The run time in nanoseconds.
+         * @param delay - The queue delay in nanoseconds.
+         */
+        private void record(final long run, final long delay) {
+            this.count.incrementAndGet();
+            this.totalRunNanos.addAndGet(run);
+            this.totalDelayNanos.addAndGet(delay);
+            this.maxRunNanos.accumulateAndGet(run, Math::max);
+            this.maxDelayNanos.accumulateAndGet(delay, Math::max);
+            this.runHistogram.incrementAndGet(bucketOf(run));
+            this.delayHistogram.incrementAndGet(bucketOf(delay));
+        }
+    }
+
+    /**
+     * The timings of a single task label at the time the snapshot was taken.
+     */
+    public static class Snapshot {
+        private final String label;
+        private final long count;
+        private final long slowCount;
+        private final long totalRunNanos;
+        private final long totalDelayNanos;
+        private final long maxRunNanos;
+        private final long maxDelayNanos;
+        private final long[] runHistogram = new long[BUCKETS];
+        private final long[] delayHistogram = new long[BUCKETS];
+
+        private Snapshot(final @Nonnull Stats stats) {
+            this.label = stats.label;
+            this.count = stats.count.get();
+            this.slowCount = stats.slowCount.get();
+            this.totalRunNanos = stats.totalRunNanos.get();
+            this.totalDelayNanos = stats.totalDelayNanos.get();
+            this.maxRunNanos = stats.maxRunNanos.get();
+            this.maxDelayNanos = stats.maxDelayNanos.get();
+            for (int i = 0; i < BUCKETS; i++) {
+                this.runHistogram[i] = stats.runHistogram.get(i);
+                this.delayHistogram[i] = stats.delayHistogram.get(i);
+            }
+        }
+
+        /**
+         * Gets the label of the task.
+         *
+         * @return The task label, the scheduling class and method if the task is unlabeled.
+         */
+        public @Nonnull String getLabel() {
+            return this.label;
+        }
+
+        /**
+         * Gets the number of times the task ran.
+         *
+         * @return The run count.
+         */
+        public long getCount() {
+            return this.count;
+        }
+
+        /**
+         * Gets the number of times the task ran longer than the slow threshold.
+         *
+         * @return The slow run count.
+         */
+        public long getSlowCount() {
+            return this.slowCount;
+        }
+
+        /**
+         * Gets the total time spent running the task.
+         *
+         * @return The total run time in milliseconds.
+         */
+        public double getTotalRunMillis() {
+            return this.totalRunNanos / 1_000_000.0;
+        }
+
+        /**
+         * Gets the average time spent running the task.
+         *
+         * @return The average run time in milliseconds.
+         */
+        public double getAverageRunMillis() {
+            return this.count == 0 ? 0.0 : (this.totalRunNanos / (double) this.count) / 1_000_000.0;
+        }
+
+        /**
+         * Gets the longest run of the task.
+         *
+         * @return The maximum run time in milliseconds.
+         */
+        public double getMaxRunMillis() {
+            return this.maxRunNanos / 1_000_000.0;
+        }
+
+        /**
+         * Estimates a percentile of the run time of the task, accurate to a power of two.
+         *
+         * @param percentile - The percentile, between 0 and 100.
+         * @return The estimated run time in milliseconds.
+         */
+        public double getRunPercentile(final double percentile) {
+            return percentileOf(this.runHistogram, this.count, percentile);
+        }
+
+        /**
+         * Gets the average time the task waited past its scheduled time before running.
+         *
+         * @return The average queue delay in milliseconds.
+         */
+        public double getAverageDelayMillis() {
+            return this.count == 0 ? 0.0 : (this.totalDelayNanos / (double) this.count) / 1_000_000.0;
+        }
+
+        /**
+         * Gets the longest time the task waited past its scheduled time before running.
+         *
+         * @return The maximum queue delay in milliseconds.
+         */
+        public double getMaxDelayMillis() {
+            return this.maxDelayNanos / 1_000_000.0;
+        }
+
+        /**
+         * Estimates a percentile of the queue delay of the task, accurate to a power of two.
+         *
+         * @param percentile - The percentile, between 0 and 100.
+         * @return The estimated queue delay in milliseconds.
+         */
+        public double getDelayPercentile(final double percentile) {
+            return percentileOf(this.delayHistogram, this.count, percentile);
+        }
+
+        /**
+         * Gets the run time histogram, bucket i holding the runs shorter than 2^i microseconds.
+         *
+         * @return A copy of the run time histogram.
+         */
+        public @Nonnull long[] getRunHistogram() {
+            return this.runHistogram.clone();
+        }
+
+        /**
+         * Gets the queue delay histogram, bucket i holding the delays shorter than 2^i microseconds.
+         *
+         * @return A copy of the queue delay histogram.
+         */
+        public @Nonnull long[] getDelayHistogram() {
+            return this.delayHistogram.clone();
+        }
+    }
+}
@@ -17,20 +17,36 @@
  */
 package me.RockinChaos.core.utils;
 
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 /**
  * A utility class that handles unique id entries for creating timers that expire in a given duration.
+ * <p>
+ * Entries are held in a hierarchical timing wheel and removed on the tick they expire, optionally running a callback.
+ * Wall-clock entries are measured in 50 millisecond ticks and expire on a background thread,
+ * game tick entries follow the server tick rate and expire on the main thread (Bukkit/Paper) or global region thread (Folia).
  */
 @SuppressWarnings({"unused"})
 public class TimerUtils {
-    private static final Map<String, Map<Object, Long>> timedMap = new ConcurrentHashMap<>();
-    private static final ScheduledExecutorService cleaner = Executors.newSingleThreadScheduledExecutor();
-    static { cleaner.scheduleAtFixedRate(TimerUtils::clearExpired, 1, 1, TimeUnit.MINUTES); }
+    private static final long TICK_MILLIS = 50L;
+    private static final Map<String, Map<Object, TimingWheel.Node>> timedMap = new ConcurrentHashMap<>();
+    private static final TimingWheel clockWheel = new TimingWheel(clockTick());
+    private static final TimingWheel gameWheel = new TimingWheel(0L);
+    private static final ScheduledExecutorService cleaner = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "ChaosCore-TimerUtils");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static volatile long gameTick = 0L;
+    private static int gameTask = 0;
+    static { cleaner.scheduleAtFixedRate(() -> expire(clockWheel.advance(clockTick())), TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS); }
 
     /**
      * Sets an object with a unique ID and the current time.
@@ -41,9 +57,37 @@ public class TimerUtils {
      * @param timeUnit  the TimeUnit of the duration, (optional) will default to Ticks if undefined
      */
     public static void setExpiry(final String uniqueId, final Object object, final int duration, final TimeUnit... timeUnit) {
+        setExpiry(uniqueId, object, duration, null, timeUnit);
+    }
+
+    /**
+     * Sets an object with a unique ID and the current time, running the callback once it expires.
+     * The callback is not run if the object is removed or set again before it expires.
+     *
+     * @param uniqueId  the unique identifier for the Object
+     * @param object    the Object to be stored
+     * @param duration  the duration (default is Ticks)
+     * @param onExpiry  the callback receiving the stored Object once it expires, run on the TimerUtils thread
+     * @param timeUnit  the TimeUnit of the duration, (optional) will default to Ticks if undefined
+     */
+    public static void setExpiry(final String uniqueId, final Object object, final int duration, final @Nullable Consumer<Object> onExpiry, final TimeUnit... timeUnit) {
         final long future = (timeUnit == null || timeUnit.length == 0 ? StringUtils.ticksToMillis(duration) : timeUnit[0].toMillis(duration));
-        final long expiryTime = System.currentTimeMillis() + future;
-        timedMap.computeIfAbsent(uniqueId, k -> new ConcurrentHashMap<>()).put(object, expiryTime);
+        final long deadline = (System.currentTimeMillis() + future + TICK_MILLIS - 1) / TICK_MILLIS;
+        put(clockWheel, uniqueId, object, deadline, onExpiry);
+    }
+
+    /**
+     * Sets an object with a unique ID that expires after the specified number of server ticks,
+     * unlike {@link #setExpiry(String, Object, int, TimeUnit...)} the duration stretches when the server is lagging.
+     *
+     * @param uniqueId  the unique identifier for the Object
+     * @param object    the Object to be stored
+     * @param ticks     the number of server ticks before the Object expires
+     * @param onExpiry  the callback receiving the stored Object once it expires, run on the main thread (Bukkit/Paper) or global region thread (Folia)
+     */
+    public static void setTickExpiry(final String uniqueId, final Object object, final int ticks, final @Nullable Consumer<Object> onExpiry) {
+        startTicking();
+        put(gameWheel, uniqueId, object, gameTick + Math.max(1, ticks), onExpiry);
     }
 
     /**
@@ -54,10 +98,10 @@ public class TimerUtils {
      * @return true if the object is within the duration, false otherwise
      */
     public static boolean isExpired(final String uniqueId, final Object object) {
-        final Map<Object, Long> objectMap = timedMap.get(uniqueId);
+        final Map<Object, TimingWheel.Node> objectMap = timedMap.get(uniqueId);
         if (objectMap == null) return true;
-        final Long expiryTime = objectMap.get(object);
-        return expiryTime == null || expiryTime <= System.currentTimeMillis();
+        final TimingWheel.Node node = objectMap.get(object);
+        return node == null || isExpired(node);
     }
 
     /**
@@ -68,16 +112,10 @@ public class TimerUtils {
      * @return the exact Object instance stored if it's not expired.
      */
     public static Object getAlive(final String uniqueId, final Object object) {
-        if (!isExpired(uniqueId, object)) {
-            final Map<Object, Long> objectMap = timedMap.get(uniqueId);
-            for (Map.Entry<Object, Long> entry : objectMap.entrySet()) {
-                Object storedObject = entry.getKey();
-                if (storedObject.equals(object)) {
-                    return storedObject;
-                }
-            }
-        }
-        return null;
+        final Map<Object, TimingWheel.Node> objectMap = timedMap.get(uniqueId);
+        if (objectMap == null) return null;
+        final TimingWheel.Node node = objectMap.get(object);
+        return node != null && !isExpired(node) ? node.object : null;
     }
 
     /**
@@ -88,25 +126,110 @@ public class TimerUtils {
      * @param force    the object should be removed whether expired or not.
      */
     public static void removeExpiry(final String uniqueId, final Object object, final boolean force) {
-        final Map<Object, Long> objectMap = timedMap.get(uniqueId);
+        final Map<Object, TimingWheel.Node> objectMap = timedMap.get(uniqueId);
         if (objectMap != null) {
-            if (force || isExpired(uniqueId, object)) {
-                objectMap.remove(object);
-                if (objectMap.isEmpty()) {
-                    timedMap.remove(uniqueId);
-                }
+            final TimingWheel.Node node = objectMap.get(object);
+            if (node != null && (force || isExpired(node)) && remove(node)) {
+                node.wheel.cancel(node);
             }
         }
     }
 
     /**
      * Clears all expired objects from the map.
+     * Expired objects are already removed on the tick they expire, this only catches up a wheel that fell behind.
      */
     public static void clearExpired() {
-        synchronized (timedMap) {
-            final long currentTime = System.currentTimeMillis();
-            timedMap.forEach((id, objectMap) -> objectMap.values().removeIf(expiryTime -> expiryTime <= currentTime));
-            timedMap.entrySet().removeIf(entry -> entry.getValue().isEmpty());
+        expire(clockWheel.advance(clockTick()));
+        expire(gameWheel.advance(gameTick));
+    }
+
+    /**
+     * Stores the object, replacing and canceling any entry already stored for it.
+     *
+     * @param wheel    the wheel the entry is scheduled on
+     * @param uniqueId the unique identifier for the object
+     * @param object   the object to be stored
+     * @param deadline the tick of the wheel the entry expires on
+     * @param onExpiry the callback receiving the stored object once it expires
+     */
+    private static void put(final @Nonnull TimingWheel wheel, final String uniqueId, final Object object, final long deadline, final @Nullable Consumer<Object> onExpiry) {
+        final TimingWheel.Node node = new TimingWheel.Node(wheel, uniqueId, object, deadline, onExpiry != null ? () -> onExpiry.accept(object) : null);
+        final TimingWheel.Node[] replaced = new TimingWheel.Node[1];
+        timedMap.compute(uniqueId, (id, objectMap) -> {
+            final Map<Object, TimingWheel.Node> map = objectMap != null ? objectMap : new ConcurrentHashMap<>();
+            replaced[0] = map.put(object, node);
+            return map;
+        });
+        if (replaced[0] != null) {
+            replaced[0].wheel.cancel(replaced[0]);
+        }
+        wheel.schedule(node);
+    }
+
+    /**
+     * Removes the exact entry from the map, dropping the unique ID once it has no entries left.
+     *
+     * @param node the entry being removed
+     * @return true if the entry was still stored, false if it had been replaced or removed
+     */
+    private static boolean remove(final @Nonnull TimingWheel.Node node) {
+        final boolean[] removed = new boolean[1];
+        timedMap.computeIfPresent(node.uniqueId, (id, objectMap) -> {
+            removed[0] = objectMap.remove(node.object, node);
+            return objectMap.isEmpty() ? null : objectMap;
+        });
+        return removed[0];
+    }
+
+    /**
+     * Removes the expired entries and runs their callbacks.
+     *
+     * @param expired the entries that expired
+     */
+    private static void expire(final @Nonnull Iterable<TimingWheel.Node> expired) {
+        for (final TimingWheel.Node node : expired) {
+            if (remove(node) && node.callback != null) {
+                try {
+                    node.callback.run();
+                } catch (Throwable t) { // An Error escaping to the cleaner would suppress every later run of the wheel.
+                    ServerUtils.logSevere("{TimerUtils} Failed to run the expiry callback of " + node.uniqueId + ".");
+                    ServerUtils.sendSevereThrowable(t);
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks if the entry has reached its deadline.
+     *
+     * @param node the entry being checked
+     * @return true if the entry is expired
+     */
+    private static boolean isExpired(final @Nonnull TimingWheel.Node node) {
+        return node.deadline <= (node.wheel == gameWheel ? gameTick : clockTick());
+    }
+
+    /**
+     * Gets the current wall-clock tick.
+     *
+     * @return the number of 50 millisecond ticks since the epoch
+     */
+    private static long clockTick() {
+        return System.currentTimeMillis() / TICK_MILLIS;
+    }
+
+    /**
+     * Starts counting server ticks for the game tick wheel, if not already counting.
+     * The counting task is started again if it was canceled, such as by {@link SchedulerUtils#cancelTasks()}.
+     */
+    private static synchronized void startTicking() {
+        final TaskHandle handle = (gameTask != 0 ? SchedulerUtils.getTask(gameTask) : null);
+        if (handle == null || handle.isDone()) {
+            gameTask = SchedulerUtils.runAtInterval(1L, 1L, () -> {
+                gameTick++;
+                expire(gameWheel.advance(gameTick));
+            });
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,197 @@
+/*
+ * ChaosCore
+ * Copyright (C) CraftationGaming <https://www.craftationgaming.com/>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package me.RockinChaos.core.utils;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A hierarchical timing wheel.
+ * Entries are scheduled and canceled in constant time, and advancing the wheel only touches the entries that are due,
+ * entries far in the future are cascaded into the finer wheels as their deadline approaches.
+ * <p>
+ * The wheel has no notion of time itself, it is advanced with the current tick of whichever clock drives it.
+ */
+class TimingWheel {
+    private static final int BITS = 6;
+    private static final int SLOTS = 1 << BITS;
+    private static final int MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+    private final Node[][] wheels = new Node[LEVELS][SLOTS];
+    private long current;
+
+    /**
+     * Creates a new TimingWheel.
+     *
+     * @param current - The current tick of the clock driving the wheel.
+     */
+    TimingWheel(final long current) {
+        this.current = current;
+        for (final Node[] wheel : this.wheels) {
+            for (int i = 0; i < SLOTS; i++) {
+                final Node head = new Node(this, null, null, 0L, null);
+                head.prev = head;
+                head.next = head;
+                wheel[i] = head;
+            }
+        }
+    }
+
+    /**
+     * Gets the tick the wheel was last advanced to.
+     *
+     * @return The current tick of the wheel.
+     */
+    synchronized long getCurrent() {
+        return this.current;
+    }
+
+    /**
+     * Schedules the entry, entries already due expire on the next advance.
+     *
+     * @param node - The entry being scheduled.
+     */
+    synchronized void schedule(final @Nonnull Node node) {
+        this.unlink(node);
+        this.insert(node);
+    }
+
+    /**
+     * Cancels the entry if it is scheduled.
+     *
+     * @param node - The entry being canceled.
+     */
+    synchronized void cancel(final @Nonnull Node node) {
+        this.unlink(node);
+    }
+
+    /**
+     * Advances the wheel to the specified tick.
+     *
+     * @param now - The current tick of the clock driving the wheel.
+     * @return The entries that expired, in order of their deadline.
+     */
+    synchronized @Nonnull List<Node> advance(final long now) {
+        List<Node> expired = null;
+        while (this.current < now) {
+            this.current++;
+            for (int level = 1; level < LEVELS && ((this.current >>> (BITS * level - BITS)) & MASK) == 0; level++) {
+                this.cascade(this.wheels[level][(int) ((this.current >>> (BITS * level)) & MASK)]);
+            }
+            final Node head = this.wheels[0][(int) (this.current & MASK)];
+            while (head.next != head) {
+                final Node node = head.next;
+                this.unlink(node);
+                if (node.deadline > this.current) {
+                    this.insert(node);
+                    continue;
+                }
+                if (expired == null) {
+                    expired = new ArrayList<>();
+                }
+                expired.add(node);
+            }
+        }
+        return expired != null ? expired : Collections.emptyList();
+    }
+
+    /**
+     * Moves every entry of the slot into the finer wheels.
+     * The slot is detached first, entries beyond the range of the coarsest wheel may land back in the same slot.
+     *
+     * @param head - The sentinel of the slot being cascaded.
+     */
+    private void cascade(final @Nonnull Node head) {
+        Node node = head.next;
+        head.prev = head;
+        head.next = head;
+        while (node != head) {
+            final Node next = node.next;
+            node.prev = null;
+            node.next = null;
+            this.insert(node);
+            node = next;
+        }
+    }
+
+    /**
+     * Links the entry into the slot matching its deadline.
+     *
+     * @param node - The entry being linked.
+     */
+    private void insert(final @Nonnull Node node) {
+        final long deadline = Math.max(node.deadline, this.current + 1);
+        final long delta = deadline - this.current;
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= (1L << (BITS * (level + 1)))) {
+            level++;
+        }
+        final Node head = this.wheels[level][(int) ((deadline >>> (BITS * level)) & MASK)];
+        node.prev = head.prev;
+        node.next = head;
+        head.prev.next = node;
+        head.prev = node;
+    }
+
+    /**
+     * Unlinks the entry from its slot if it is linked.
+     *
+     * @param node - The entry being unlinked.
+     */
+    private void unlink(final @Nonnull Node node) {
+        if (node.next != null) {
+            node.prev.next = node.next;
+            node.next.prev = node.prev;
+            node.prev = null;
+            node.next = null;
+        }
+    }
+
+    /**
+     * An entry of the wheel.
+     */
+    static class Node {
+        final TimingWheel wheel;
+        final String uniqueId;
+        final Object object;
+        final long deadline;
+        final Runnable callback;
+        private Node prev;
+        private Node next;
+
+        /**
+         * Creates a new entry.
+         *
+         * @param wheel    - The wheel the entry is scheduled on.
+         * @param uniqueId - The identifier of the group the entry belongs to.
+         * @param object   - The object being timed.
+         * @param deadline - The tick the entry expires on.
+         * @param callback - The task run once the entry expires, or null.
+         */
+        Node(final @Nonnull TimingWheel wheel, final @Nullable String uniqueId, final @Nullable Object object, final long deadline, final @Nullable Runnable callback) {
+            this.wheel = wheel;
+            this.uniqueId = uniqueId;
+            this.object = object;
+            this.deadline = deadline;
+            this.callback = callback;
+        }
+    }
+}
@@ -0,0 +1,359 @@
+/*
+ * ChaosCore
+ * Copyright (C) CraftationGaming <https://www.craftationgaming.com/>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package me.RockinChaos.core.utils;
+
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.DoubleSupplier;
+
+/**
+ * A tick-budgeted queue of small units of work.
+ * Each tick the queue runs as many units as fit within its millisecond budget and carries the rest over to the next tick,
+ * so fanning out work to every online player costs one scheduler dispatch per tick instead of one task per player.
+ * <p>
+ * On Bukkit/Paper every unit runs on the main thread under a single budget.
+ * On Folia units queued for a location are grouped per region and units queued for an entity are grouped per entity,
+ * each group being drained on its own region thread under its own budget.
+ */
+@SuppressWarnings("unused")
+public class WorkQueue {
+    private static final int REGION_SHIFT = 3;
+    private final String name;
+    private final DoubleSupplier budget;
+    private final Lane global = new Lane(null, this::dispatchGlobal);
+    private final Map<Object, Lane> lanes = new ConcurrentHashMap<>();
+    private final AtomicInteger depth = new AtomicInteger();
+    private final AtomicLong submittedCount = new AtomicLong();
+    private final AtomicLong executedCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong drainCount = new AtomicLong();
+    private final AtomicLong carriedCount = new AtomicLong();
+    private final AtomicLong totalDrainNanos = new AtomicLong();
+    private volatile long lastDrainNanos = 0L;
+    private volatile long maxDrainNanos = 0L;
+
+    /**
+     * Creates a new WorkQueue with a fixed budget.
+     *
+     * @param name   - The name of the queue, used when logging failed units.
+     * @param budget - The time in milliseconds each drain may spend per tick.
+     */
+    public WorkQueue(final @Nonnull String name, final double budget) {
+        this(name, () -> budget);
+    }
+
+    /**
+     * Creates a new WorkQueue whose budget is read on every drain.
+     *
+     * @param name   - The name of the queue, used when logging failed units.
+     * @param budget - Supplies the time in milliseconds each drain may spend per tick.
+     */
+    public WorkQueue(final @Nonnull String name, final @Nonnull DoubleSupplier budget) {
+        this.name = name;
+        this.budget = budget;
+    }
+
+    /**
+     * Queues a unit to run on the main thread (Bukkit/Paper) or global region thread (Folia).
+     *
+     * @param runnable - The unit to be performed.
+     */
+    public void submit(final @Nonnull Runnable runnable) {
+        this.offer(this.global, runnable);
+    }
+
+    /**
+     * Queues a unit to run on the region thread owning the location (Folia) or the main thread (Bukkit/Paper).
+     *
+     * @param location - The location the unit operates on.
+     * @param runnable - The unit to be performed.
+     */
+    public void submit(final @Nonnull Location location, final @Nonnull Runnable runnable) {
+        if (!ServerUtils.isFolia || location.getWorld() == null) {
+            this.offer(this.global, runnable);
+            return;
+        }
+        final String key = location.getWorld().getName() + ":" + (location.getBlockX() >> (4 + REGION_SHIFT)) + ":" + (location.getBlockZ() >> (4 + REGION_SHIFT));
+        Lane lane;
+        do {
+            lane = this.lanes.computeIfAbsent(key, regionKey -> new Lane(regionKey, drain -> SchedulerUtils.runAtLater(location, 1L, drain)));
+        } while (!this.offer(lane, runnable));
+    }
+
+    /**
+     * Queues a unit to run on the region thread owning the entity (Folia) or the main thread (Bukkit/Paper).
+     * On Folia the units of an entity that is removed are dropped.
+     *
+     * @param entity   - The entity the unit operates on.
+     * @param runnable - The unit to be performed.
+     */
+    public void submit(final @Nonnull Entity entity, final @Nonnull Runnable runnable) {
+        if (!ServerUtils.isFolia) {
+            this.offer(this.global, runnable);
+            return;
+        }
+        Lane lane;
+        do {
+            lane = this.lanes.computeIfAbsent(entity, entityKey -> {
+                final Lane[] created = new Lane[1];
+                created[0] = new Lane(entityKey, drain -> SchedulerUtils.runForEntityLater(entity, 1L, drain, () -> this.retire(created[0])));
+                return created[0];
+            });
+        } while (!this.offer(lane, runnable));
+    }
+
+    /**
+     * Queues the unit on the lane, dispatching the lane if it is idle.
+     *
+     * @param lane     - The lane the unit is queued on.
+     * @param runnable - The unit to be performed.
+     * @return If the unit was queued, false if the lane was retired and the unit must be queued on a new lane.
+     */
+    private boolean offer(final @Nonnull Lane lane, final @Nonnull Runnable runnable) {
+        synchronized (lane) {
+            if (lane.retired) {
+                return false;
+            }
+            lane.units.offer(runnable);
+        }
+        this.depth.incrementAndGet();
+        this.submittedCount.incrementAndGet();
+        if (lane.active.compareAndSet(false, true)) {
+            lane.dispatcher.dispatch(() -> this.drain(lane));
+        }
+        return true;
+    }
+
+    /**
+     * Runs the units of the lane until the budget is spent, then carries the remaining units over to the next tick.
+     *
+     * @param lane - The lane being drained.
+     */
+    private void drain(final @Nonnull Lane lane) {
+        final long start = System.nanoTime();
+        final long budget = (long) (this.budget.getAsDouble() * 1_000_000.0);
+        Runnable unit;
+        while ((unit = lane.units.poll()) != null) {
+            this.depth.decrementAndGet();
+            try {
+                unit.run();
+            } catch (Throwable t) { // An Error must not escape before the lane is released or re-dispatched.
+                ServerUtils.logSevere("{SchedulerUtils} A unit queued on the " + this.name + " work queue failed.");
+                ServerUtils.sendSevereThrowable(t);
+            }
+            this.executedCount.incrementAndGet();
+            if (System.nanoTime() - start >= budget) {
+                break;
+            }
+        }
+        this.record(System.nanoTime() - start);
+        if (!lane.units.isEmpty()) {
+            this.carriedCount.incrementAndGet();
+            lane.dispatcher.dispatch(() -> this.drain(lane));
+            return;
+        }
+        if (lane.key != null) {
+            synchronized (lane) {
+                if (lane.units.isEmpty()) {
+                    lane.retired = true;
+                    this.lanes.remove(lane.key, lane);
+                    return;
+                }
+            }
+            lane.dispatcher.dispatch(() -> this.drain(lane));
+            return;
+        }
+        lane.active.set(false);
+        if (!lane.units.isEmpty() && lane.active.compareAndSet(false, true)) {
+            lane.dispatcher.dispatch(() -> this.drain(lane));
+        }
+    }
+
+    /**
+     * Drops the units of a lane whose entity was removed.
+     *
+     * @param lane - The lane being retired.
+     */
+    private void retire(final @Nonnull Lane lane) {
+        synchronized (lane) {
+            lane.retired = true;
+            this.lanes.remove(lane.key, lane);
+        }
+        int dropped = 0;
+        while (lane.units.poll() != null) {
+            dropped++;
+        }
+        this.depth.addAndGet(-dropped);
+        this.droppedCount.addAndGet(dropped);
+    }
+
+    /**
+     * Dispatches the drain of the global lane to the next tick.
+     *
+     * @param drain - The drain being dispatched.
+     */
+    private void dispatchGlobal(final @Nonnull Runnable drain) {
+        SchedulerUtils.runLater(1L, drain);
+    }
+
+    /**
+     * Records the duration of a drain.
+     *
+     * @param duration - The duration of the drain in nanoseconds.
+     */
+    private void record(final long duration) {
+        this.lastDrainNanos = duration;
+        if (duration > this.maxDrainNanos) {
+            this.maxDrainNanos = duration;
+        }
+        this.totalDrainNanos.addAndGet(duration);
+        this.drainCount.incrementAndGet();
+    }
+
+    /**
+     * Gets the name of the queue.
+     *
+     * @return The queue name.
+     */
+    public @Nonnull String getName() {
+        return this.name;
+    }
+
+    /**
+     * Gets the number of units waiting to run.
+     *
+     * @return The current queue depth.
+     */
+    public int getQueueDepth() {
+        return this.depth.get();
+    }
+
+    /**
+     * Gets the number of region and entity groups currently holding units (Folia).
+     *
+     * @return The number of active groups.
+     */
+    public int getLaneCount() {
+        return this.lanes.size();
+    }
+
+    /**
+     * Gets the number of units queued.
+     *
+     * @return The number of queued units.
+     */
+    public long getSubmittedCount() {
+        return this.submittedCount.get();
+    }
+
+    /**
+     * Gets the number of units run.
+     *
+     * @return The number of executed units.
+     */
+    public long getExecutedCount() {
+        return this.executedCount.get();
+    }
+
+    /**
+     * Gets the number of units dropped because their entity was removed (Folia).
+     *
+     * @return The number of dropped units.
+     */
+    public long getDroppedCount() {
+        return this.droppedCount.get();
+    }
+
+    /**
+     * Gets the number of drains performed.
+     *
+     * @return The number of drains.
+     */
+    public long getDrainCount() {
+        return this.drainCount.get();
+    }
+
+    /**
+     * Gets the number of drains that spent their budget and carried units over to the next tick.
+     *
+     * @return The number of carried over drains.
+     */
+    public long getCarriedCount() {
+        return this.carriedCount.get();
+    }
+
+    /**
+     * Gets the duration of the last drain.
+     *
+     * @return The last drain time in milliseconds.
+     */
+    public double getLastDrainMillis() {
+        return this.lastDrainNanos / 1_000_000.0;
+    }
+
+    /**
+     * Gets the duration of the slowest drain.
+     *
+     * @return The maximum drain time in milliseconds.
+     */
+    public double getMaxDrainMillis() {
+        return this.maxDrainNanos / 1_000_000.0;
+    }
+
+    /**
+     * Gets the average duration of a drain.
+     *
+     * @return The average drain time in milliseconds.
+     */
+    public double getAverageDrainMillis() {
+        final long count = this.drainCount.get();
+        return count == 0 ? 0.0 : (this.totalDrainNanos.get() / (double) count) / 1_000_000.0;
+    }
+
+    /**
+     * Schedules the drain of a lane on the thread its units must run on.
+     */
+    private interface Dispatcher {
+        void dispatch(final @Nonnull Runnable drain);
+    }
+
+    /**
+     * The units of a single region, entity, or the global lane.
+     */
+    private static class Lane {
+        private final Object key;
+        private final Dispatcher dispatcher;
+        private final ConcurrentLinkedQueue<Runnable> units = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean active = new AtomicBoolean(false);
+        private boolean retired = false;
+
+        private Lane(final @Nullable Object key, final @Nonnull Dispatcher dispatcher) {
+            this.key = key;
+            this.dispatcher = dispatcher;
+        }
+    }
+}
@@ -19,7 +19,9 @@ package me.RockinChaos.core.utils.api;
 
 import me.RockinChaos.core.Core;
 import me.RockinChaos.core.utils.ReflectionUtils;
+import me.RockinChaos.core.utils.SchedulerUtils;
 import me.RockinChaos.core.utils.ServerUtils;
+import me.RockinChaos.core.utils.StartupProfiler;
 import me.RockinChaos.core.utils.StringUtils;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
@@ -28,6 +30,7 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 @SuppressWarnings("unused")
 public class DependAPI {
@@ -52,7 +55,7 @@ public class DependAPI {
      */
     public static @Nonnull DependAPI getDepends() {
         if (depends == null) {
-            depends = new DependAPI();
+            depends = StartupProfiler.time("DependAPI", DependAPI::new);
         }
         return depends;
     }
@@ -369,6 +372,18 @@ public class DependAPI {
     }
     private boolean alertedSkinsDisabled = false;
 
+    /**
+     * Gets the set SkinsRestorer skin on the blocking executor,
+     * so that lookups for many skulls at once do not occupy the server's async pool.
+     *
+     * @param uuid  - The UUID of the player the skull is created for.
+     * @param owner - The skull owner to have their skin fetched.
+     * @return The future completed with the found Skin Texture value, which may be null.
+     */
+    public @Nonnull CompletableFuture<String> getSkinValueAsync(final @Nonnull UUID uuid, final @Nonnull String owner) {
+        return CompletableFuture.supplyAsync(() -> this.getSkinValue(uuid, owner), SchedulerUtils.getBlockingExecutor());
+    }
+
     /**
      * Checks if Citizens is Enabled.
      *
@@ -23,6 +23,7 @@ import me.RockinChaos.core.utils.ChatComponent.ClickAction;
 import me.RockinChaos.core.utils.ChatComponent.ClickEvent;
 import me.RockinChaos.core.utils.ChatComponent.TextSection;
 import me.RockinChaos.core.utils.ServerUtils;
+import me.RockinChaos.core.utils.StartupProfiler;
 import me.RockinChaos.core.utils.StringUtils;
 import me.RockinChaos.core.utils.types.PlaceHolder;
 import org.bukkit.ChatColor;
@@ -50,7 +51,7 @@ public class LanguageAPI {
     public static @Nonnull LanguageAPI getLang() {
         if (lang == null) {
             lang = new LanguageAPI();
-            lang.langFile();
+            StartupProfiler.time("LanguageAPI.langFile", lang::langFile);
         }
         return lang;
     }
@@ -305,7 +306,7 @@ public class LanguageAPI {
      */
     public void refresh() {
         lang = new LanguageAPI();
-        lang.langFile();
+        StartupProfiler.time("LanguageAPI.langFile", lang::langFile);
     }
 
     /**
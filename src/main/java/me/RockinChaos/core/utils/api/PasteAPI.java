@@ -157,7 +157,7 @@ public class PasteAPI {
      * @param callback - The successful paste URL result upon completion, this may be null.
      */
     public void getPaste(@Nonnull final Consumer<String> callback) {
-        SchedulerUtils.runAsync(() -> {
+        SchedulerUtils.runBlocking(() -> {
             try {
                 final HttpURLConnection connection = getHttpURLConnection(this.pasteData);
                 final BufferedReader in = new BufferedReader(new InputStreamReader(connection.getInputStream()));
@@ -18,8 +18,8 @@
 package me.RockinChaos.core.utils.interfaces.types;
 
 import me.RockinChaos.core.utils.CompatUtils;
+import me.RockinChaos.core.utils.MinecraftBindings;
 import me.RockinChaos.core.utils.ReflectionUtils;
-import me.RockinChaos.core.utils.ReflectionUtils.FieldAccessor;
 import me.RockinChaos.core.utils.ReflectionUtils.MinecraftField;
 import me.RockinChaos.core.utils.ReflectionUtils.MinecraftMethod;
 import me.RockinChaos.core.utils.ServerUtils;
@@ -38,12 +38,7 @@ public class Container {
 
     private final Class<?> baseComponent = ReflectionUtils.getMinecraftClass("IChatBaseComponent");
     private final Class<?> dataComponent = (ServerUtils.hasUpdate("1_20_5") ? ReflectionUtils.getMinecraftClass("DataComponents") : null);
-    private final Class<?> humanEntity = ReflectionUtils.getMinecraftClass("EntityHuman");
     private final Class<?> mineContainer = ReflectionUtils.getMinecraftClass("Container");
-    private final FieldAccessor<?> activeContainer = ReflectionUtils.getField(this.humanEntity, MinecraftField.ActiveContainer.getField());
-    private final FieldAccessor<?> defaultContainer = ReflectionUtils.getField(ReflectionUtils.getMinecraftClass("EntityHuman"), MinecraftField.DefaultContainer.getField());
-    private final Class<?> playOpenWindow = ReflectionUtils.getMinecraftClass("PacketPlayOutOpenWindow");
-    private final Class<?> playCloseWindow = ReflectionUtils.getMinecraftClass("PacketPlayOutCloseWindow");
     private ItemStack outItem;
     private String outText;
     private int outPreview = 0;
@@ -61,32 +56,23 @@ public class Container {
      */
     public Container(final @Nonnull Player player, final @Nonnull Object inventoryTitle, final @Nonnull ItemStack outItem) {
         try {
-            final Class<?> blockPosition = ReflectionUtils.getMinecraftClass("BlockPosition");
-            final Class<?> containerAnvil = ReflectionUtils.getMinecraftClass("ContainerAnvil");
-            final Object world = ReflectionUtils.getMethod(player.getWorld().getClass(), "getHandle").invoke(player.getWorld());
+            final Object world = MinecraftBindings.WORLD_HANDLE.invoke(player.getWorld());
             final Object entityPlayer = ReflectionUtils.getEntity(player);
-            Object playerInventory = null;
-            if (ServerUtils.hasUpdate("1_17") && entityPlayer != null) {
-                playerInventory = ReflectionUtils.getMethod(entityPlayer.getClass(), MinecraftMethod.PlayerInventory.getMethod()).invoke(entityPlayer);
-            } else if (entityPlayer != null) {
-                playerInventory = ReflectionUtils.getField(entityPlayer.getClass(), MinecraftMethod.PlayerInventory.getMethod()).get(entityPlayer);
-            }
+            final Object playerInventory = entityPlayer != null ? MinecraftBindings.PLAYER_INVENTORY.invoke(entityPlayer) : null;
+            final Object blockPosition = MinecraftBindings.BLOCK_POSITION.invoke(0, 0, 0);
             this.outItem = outItem;
             this.containerId = this.getRealNextContainerId(player);
             if (ServerUtils.hasUpdate("1_14")) {
-                final Class<?> containerAccess = ReflectionUtils.getMinecraftClass("ContainerAccess");
-                final ReflectionUtils.MethodInvoker CAM = ReflectionUtils.getMethod(containerAccess, MinecraftMethod.At.getMethod(), ReflectionUtils.getMinecraftClass("World"), blockPosition);
-                final Object accessContainer = CAM.invoke(containerAccess, world, ReflectionUtils.getConstructor(blockPosition, int.class, int.class, int.class).invoke(0, 0, 0));
-                this.container = ReflectionUtils.getConstructor(containerAnvil, int.class, ReflectionUtils.getMinecraftClass("PlayerInventory"), containerAccess).invoke(this.containerId, playerInventory, accessContainer);
+                final Object accessContainer = MinecraftBindings.CONTAINER_ACCESS_AT.invoke(null, world, blockPosition);
+                this.container = MinecraftBindings.ANVIL_CONTAINER.invoke(this.containerId, playerInventory, accessContainer);
             } else {
-                this.container = ReflectionUtils.getConstructor(containerAnvil, ReflectionUtils.getMinecraftClass("PlayerInventory"), ReflectionUtils.getMinecraftClass("World"), blockPosition, this.humanEntity)
-                        .invoke(playerInventory, world, ReflectionUtils.getConstructor(blockPosition, int.class, int.class, int.class).invoke(0, 0, 0), ReflectionUtils.getEntity(player));
+                this.container = MinecraftBindings.ANVIL_CONTAINER.invoke(playerInventory, world, blockPosition, entityPlayer);
             }
-            ReflectionUtils.getField(this.mineContainer, "checkReachable").set(this.container, false);
+            MinecraftBindings.CONTAINER_CHECK_REACHABLE.set(this.container, false);
             if (ServerUtils.hasUpdate("1_14")) {
-                ReflectionUtils.getMethod(this.container.getClass(), "setTitle", this.baseComponent).invoke(this.container, inventoryTitle);
+                MinecraftBindings.CONTAINER_SET_TITLE.invoke(this.container, inventoryTitle);
             }
-            ReflectionUtils.getField(containerAnvil, (ServerUtils.hasUpdate("1_13") ? "maximumRepairCost" : ServerUtils.hasUpdate("1_12") ? "levelCost" : "a"), int.class).set(this.container, 0);
+            MinecraftBindings.ANVIL_REPAIR_COST.set(this.container, 0);
         } catch (Exception e) {
             ServerUtils.sendSevereTrace(e);
         }
@@ -100,7 +86,7 @@ public class Container {
      */
     private int getRealNextContainerId(final @Nonnull Player player) {
         final Object entityPlayer = ReflectionUtils.getEntity(player);
-        return entityPlayer == null ? 0 : (int) ReflectionUtils.invokeMethod("nextContainerCounter", entityPlayer);
+        return entityPlayer == null ? 0 : (int) MinecraftBindings.NEXT_CONTAINER_COUNTER.invoke(entityPlayer);
     }
 
     /**
@@ -109,16 +95,10 @@ public class Container {
      * @param player The player that needs their current inventory closed.
      */
     public void handleInventoryCloseEvent(final @Nonnull Player player) {
-        final Object entityPlayer = ReflectionUtils.getEntity(player);
         try {
-            ReflectionUtils.getMethod(ReflectionUtils.getCraftBukkitClass("event.CraftEventFactory"), "handleInventoryCloseEvent", this.humanEntity).invoke(null, entityPlayer);
-        } catch (Exception e1) {
-            try { // Likely PaperSpigot
-                ReflectionUtils.getMethod(ReflectionUtils.getCraftBukkitClass("event.CraftEventFactory"), "handleInventoryCloseEvent", this.humanEntity, ReflectionUtils.getClass("org.bukkit.event.inventory.InventoryCloseEvent$Reason")).invoke(null, entityPlayer, null);
-            } catch (Exception e2) {
-                ServerUtils.sendSevereTrace(e1);
-                ServerUtils.sendSevereTrace(e2);
-            }
+            MinecraftBindings.INVENTORY_CLOSE_EVENT.invoke(null, ReflectionUtils.getEntity(player));
+        } catch (Exception e) {
+            ServerUtils.sendSevereTrace(e);
         }
     }
 
@@ -130,17 +110,7 @@ public class Container {
      */
     public void sendPacketOpenWindow(final @Nonnull Player player, final @Nonnull Object inventoryTitle) {
         try {
-            Object packets;
-            if (ServerUtils.hasUpdate("1_14")) {
-                final Class<?> mineContainers = ReflectionUtils.getMinecraftClass("Containers");
-                final FieldAccessor<?> anvilContainers = ReflectionUtils.getField(mineContainers, MinecraftField.Anvil.getField());
-                final ReflectionUtils.ConstructorInvoker packetConstructor = ReflectionUtils.getConstructor(this.playOpenWindow, int.class, mineContainers, this.baseComponent);
-                packets = packetConstructor.invoke(this.containerId, anvilContainers.get(mineContainers), inventoryTitle);
-            } else {
-                final ReflectionUtils.ConstructorInvoker packetConstructor = ReflectionUtils.getConstructor(this.playOpenWindow, int.class, String.class, this.baseComponent);
-                packets = packetConstructor.invoke(this.containerId, "minecraft:anvil", inventoryTitle);
-            }
-            ReflectionUtils.sendPacket(player, packets);
+            ReflectionUtils.sendPacket(player, MinecraftBindings.OPEN_WINDOW_PACKET.invoke(this.containerId, inventoryTitle));
         } catch (Exception e) {
             ServerUtils.sendSevereTrace(e);
         }
@@ -153,8 +123,7 @@ public class Container {
      */
     public void sendPacketCloseWindow(final @Nonnull Player player) {
         try {
-            final Object packets = ReflectionUtils.getConstructor(this.playCloseWindow, int.class).invoke(this.containerId);
-            ReflectionUtils.sendPacket(player, packets);
+            ReflectionUtils.sendPacket(player, MinecraftBindings.CLOSE_WINDOW_PACKET.invoke(this.containerId));
         } catch (Exception e) {
             ServerUtils.sendSevereTrace(e);
         }
@@ -166,7 +135,8 @@ public class Container {
      * @param player The player to set the active container of.
      */
     public void setActiveContainerDefault(final @Nonnull Player player) {
-        this.activeContainer.set(ReflectionUtils.getEntity(player), this.defaultContainer.get(ReflectionUtils.getEntity(player)));
+        final Object entityPlayer = ReflectionUtils.getEntity(player);
+        MinecraftBindings.ACTIVE_CONTAINER.set(entityPlayer, MinecraftBindings.DEFAULT_CONTAINER.get(entityPlayer));
     }
 
     /**
@@ -175,7 +145,7 @@ public class Container {
      * @param player The player to set the active container of.
      */
     public void setActiveContainer(final @Nonnull Player player) {
-        this.activeContainer.set(ReflectionUtils.getEntity(player), this.container);
+        MinecraftBindings.ACTIVE_CONTAINER.set(ReflectionUtils.getEntity(player), this.container);
     }
 
     /**
@@ -183,7 +153,7 @@ public class Container {
      */
     public void setActiveContainerId() {
         if (!ServerUtils.hasUpdate("1_14")) {
-            ReflectionUtils.getField(this.mineContainer, "windowId").set(this.container, this.containerId);
+            MinecraftBindings.CONTAINER_WINDOW_ID.set(this.container, this.containerId);
         }
     }
 
@@ -196,9 +166,9 @@ public class Container {
         try {
             final Object entityPlayer = ReflectionUtils.getEntity(player);
             if (ServerUtils.hasUpdate("1_17") && entityPlayer != null) {
-                ReflectionUtils.getMethod(entityPlayer.getClass(), MinecraftMethod.AddSlotListener.getMethod(), this.mineContainer).invoke(entityPlayer, this.container);
+                MinecraftBindings.ADD_SLOT_LISTENER.invoke(entityPlayer, this.container);
             } else {
-                ReflectionUtils.getMethod(this.mineContainer, MinecraftMethod.AddSlotListener.getMethod(), ReflectionUtils.getMinecraftClass("ICrafting")).invoke(this.container, entityPlayer);
+                MinecraftBindings.ADD_SLOT_LISTENER.invoke(this.container, entityPlayer);
             }
         } catch (Exception e) {
             ServerUtils.sendSevereTrace(e);
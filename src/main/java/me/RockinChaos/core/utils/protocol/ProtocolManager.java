@@ -24,6 +24,7 @@ import me.RockinChaos.core.utils.CompatUtils;
 import me.RockinChaos.core.utils.ReflectionUtils;
 import me.RockinChaos.core.utils.SchedulerUtils;
 import me.RockinChaos.core.utils.ServerUtils;
+import me.RockinChaos.core.utils.StartupProfiler;
 import me.RockinChaos.core.utils.protocol.events.*;
 import me.RockinChaos.core.utils.protocol.packet.PacketContainer;
 import me.RockinChaos.core.utils.ReflectionUtils.MinecraftMethod;
@@ -38,6 +39,7 @@ import org.bukkit.plugin.RegisteredListener;
 
 import javax.annotation.Nonnull;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -46,6 +48,9 @@ import java.util.stream.Collectors;
 @SuppressWarnings("unused")
 public class ProtocolManager {
 
+    private static final Map<Class<?>, PacketHandler> packetHandlers = new ConcurrentHashMap<>();
+    private static final PacketHandler NO_HANDLER = (player, packetContainer) -> false;
+    private static final Pattern BLOCK_POSITION = Pattern.compile("x=(-?\\d+), y=(-?\\d+), z=(-?\\d+)");
     private static TinyProtocol protocol;
     private static int permissionTask;
 
@@ -53,6 +58,13 @@ public class ProtocolManager {
      * Handles both server side and client side protocol packets.
      */
     public static void handleProtocols() {
+        StartupProfiler.time("ProtocolManager.handleProtocols", ProtocolManager::openProtocol);
+    }
+
+    /**
+     * Injects the packet listener, replacing the previous listener if any.
+     */
+    private static void openProtocol() {
         if (protocol != null) {
             closeProtocol();
         }
@@ -67,8 +79,11 @@ public class ProtocolManager {
              */
             @Override
             public Object onPacketInAsync(final Player player, final Channel channel, final Object packet) {
-                if (packet != null && player != null && manageEvents(player, packet.getClass().getSimpleName(), protocol.getContainer(packet))) {
-                    return null;
+                if (packet != null && player != null) {
+                    final PacketHandler handler = getHandler(packet.getClass());
+                    if (handler != NO_HANDLER && handle(handler, player, protocol.getContainer(packet))) {
+                        return null;
+                    }
                 }
                 return super.onPacketInAsync(player, channel, packet);
             }
@@ -130,52 +145,156 @@ public class ProtocolManager {
      * @param packetContainer - the PacketContainer.
      */
     public static boolean manageEvents(final @Nonnull Player player, final @Nonnull String packetName, final @Nonnull PacketContainer packetContainer) {
+        final PacketHandler handler = resolveHandler(packetName);
+        return handler != NO_HANDLER && handle(handler, player, packetContainer);
+    }
+
+    /**
+     * Gets the handler of the packet class, resolving it from the packet name the first time the class is seen.
+     * Packet classes without a handler are mapped to a handler that does nothing, so they are only matched by name once.
+     *
+     * @param packetClass - the class of the packet.
+     * @return The handler of the packet class.
+     */
+    private static @Nonnull PacketHandler getHandler(final @Nonnull Class<?> packetClass) {
+        final PacketHandler handler = packetHandlers.get(packetClass);
+        return handler != null ? handler : packetHandlers.computeIfAbsent(packetClass, clazz -> resolveHandler(clazz.getSimpleName()));
+    }
+
+    /**
+     * Matches the packet name to the handler of its custom plugin events.
+     *
+     * @param packetName - the packet name.
+     * @return The handler of the packet, or a handler that does nothing if the packet is not handled.
+     */
+    private static @Nonnull PacketHandler resolveHandler(final @Nonnull String packetName) {
+        if (packetName.equalsIgnoreCase("PacketPlayInPickItem") || packetName.contains("PickItemFromBlockPacket")) {
+            return ProtocolManager::handlePickBlock;
+        } else if (packetName.equalsIgnoreCase("PacketPlayInPickEntity") || packetName.contains("PickItemFromEntityPacket")) {
+            return ProtocolManager::handlePickEntity;
+        } else if (packetName.equalsIgnoreCase("PacketPlayInAutoRecipe") || packetName.contains("PlaceRecipePacket")) {
+            return ProtocolManager::handleAutoCraft;
+        } else if (packetName.equalsIgnoreCase("PacketPlayInCloseWindow") || packetName.contains("ContainerClosePacket")) {
+            return ProtocolManager::handleCloseWindow;
+        } else if (packetName.equalsIgnoreCase("PacketPlayInCustomPayload") || packetName.contains("RenameItemPacket")) {
+            return ProtocolManager::handleCustomPayload;
+        } else if (packetName.equalsIgnoreCase("PacketPlayInWindowClick") || packetName.contains("ContainerClickPacket")) { // yeeted in Minecraft 1.21+, thanks Microsoft...
+            return ProtocolManager::handleWindowClick;
+        }
+        return NO_HANDLER;
+    }
+
+    /**
+     * Runs the handler of the packet, ignoring any failure to read the packet.
+     *
+     * @param handler         - the handler of the packet.
+     * @param player          - the player tied to the packet.
+     * @param packetContainer - the PacketContainer.
+     * @return If the packet should be cancelled.
+     */
+    private static boolean handle(final @Nonnull PacketHandler handler, final @Nonnull Player player, final @Nonnull PacketContainer packetContainer) {
         try {
-            if (packetName.equalsIgnoreCase("PacketPlayInPickItem") || packetName.contains("PickItemFromBlockPacket")) {
-                Matcher matcher = null;
-                try {
-                    matcher = Pattern.compile("x=(-?\\d+), y=(-?\\d+), z=(-?\\d+)").matcher(packetContainer.read(0).getData().toString());
-                } catch (Exception ignored) {}
-                Block block = null;
-                if (matcher != null && matcher.find()) block = player.getWorld().getBlockAt(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)), Integer.parseInt(matcher.group(3)));
-                final PlayerPickBlockEvent PickBlock = new PlayerPickBlockEvent(player, block, player.getInventory().getHeldItemSlot(), player.getInventory());
-                callEvent(PickBlock);
-                return PickBlock.isCancelled();
-            } else if (packetName.equalsIgnoreCase("PacketPlayInPickEntity") || packetName.contains("PickItemFromEntityPacket")) {
-                final PlayerPickEntityEvent PickEntity = new PlayerPickEntityEvent(player, (int) packetContainer.read(0).getData(), player.getInventory().getHeldItemSlot(), player.getInventory());
-                callEvent(PickEntity);
-                return PickEntity.isCancelled();
-            } else if (packetName.equalsIgnoreCase("PacketPlayInAutoRecipe") || packetName.contains("PlaceRecipePacket")) {
-                final PlayerAutoCraftEvent AutoCraft = new PlayerAutoCraftEvent(player, CompatUtils.getTopInventory(player), (boolean) (ServerUtils.hasUpdate("1_20_5") && packetContainer.read(3).getData() instanceof Boolean ? packetContainer.read(3) : packetContainer.read(2)).getData());
-                callEvent(AutoCraft);
-                return AutoCraft.isCancelled();
-            } else if (packetName.equalsIgnoreCase("PacketPlayInCloseWindow") || packetName.contains("ContainerClosePacket")) {
-                final InventoryCloseEvent CloseInventory = new InventoryCloseEvent(CompatUtils.getOpenInventory(player));
-                callEvent(CloseInventory);
-                return CloseInventory.isCancelled();
-            } else if (packetName.equalsIgnoreCase("PacketPlayInCustomPayload") || packetName.contains("RenameItemPacket")) {
-                if (packetContainer.read(0).getData().toString().equalsIgnoreCase("MC|ItemName") && CompatUtils.getInventoryType(player).name().equalsIgnoreCase("ANVIL")) {
-                    final Object UnbufferedPayload = packetContainer.read(1).getData();
-                    final String renameText = (String) ReflectionUtils.getMethod(UnbufferedPayload.getClass(), MinecraftMethod.readUtf.getMethod(), int.class).invoke(UnbufferedPayload, 31);
-                    final PrepareAnvilEvent PrepareAnvil = new PrepareAnvilEvent(CompatUtils.getOpenInventory(player), renameText);
-                    callEvent(PrepareAnvil);
-                    return PrepareAnvil.isCancelled();
-                } else if (packetContainer.read(0).getData().toString().equalsIgnoreCase("MC|PickItem")) {
-                    final PlayerPickBlockEvent PickBlock = new PlayerPickBlockEvent(player, null, player.getInventory().getHeldItemSlot(), player.getInventory());
-                    callEvent(PickBlock);
-                    return PickBlock.isCancelled();
-                }
-            } else if (packetName.equalsIgnoreCase("PacketPlayInWindowClick") || packetName.contains("ContainerClickPacket")) { // yeeted in Minecraft 1.21+, thanks Microsoft...
-                if (packetContainer.read(5).getData().toString().equalsIgnoreCase("QUICK_CRAFT")) {
-                    final int slot = (ServerUtils.hasUpdate("1_17") ? (int) packetContainer.read(3).getData() : (int) packetContainer.read(1).getData());
-                    if (slot >= 0) {
-                        final PlayerCloneItemEvent CloneItem = new PlayerCloneItemEvent(player, slot, ClickType.MIDDLE);
-                        callEvent(CloneItem);
-                        return CloneItem.isCancelled();
-                    }
-                }
-            }
+            return handler.handle(player, packetContainer);
+        } catch (Exception ignored) {}
+        return false;
+    }
+
+    /**
+     * Calls the PlayerPickBlockEvent for the pick item packet.
+     *
+     * @param player          - the player tied to the packet.
+     * @param packetContainer - the PacketContainer.
+     * @return If the packet should be cancelled.
+     */
+    private static boolean handlePickBlock(final @Nonnull Player player, final @Nonnull PacketContainer packetContainer) {
+        Matcher matcher = null;
+        try {
+            matcher = BLOCK_POSITION.matcher(packetContainer.read(0).getData().toString());
         } catch (Exception ignored) {}
+        Block block = null;
+        if (matcher != null && matcher.find()) block = player.getWorld().getBlockAt(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)), Integer.parseInt(matcher.group(3)));
+        final PlayerPickBlockEvent PickBlock = new PlayerPickBlockEvent(player, block, player.getInventory().getHeldItemSlot(), player.getInventory());
+        callEvent(PickBlock);
+        return PickBlock.isCancelled();
+    }
+
+    /**
+     * Calls the PlayerPickEntityEvent for the pick entity packet.
+     *
+     * @param player          - the player tied to the packet.
+     * @param packetContainer - the PacketContainer.
+     * @return If the packet should be cancelled.
+     */
+    private static boolean handlePickEntity(final @Nonnull Player player, final @Nonnull PacketContainer packetContainer) {
+        final PlayerPickEntityEvent PickEntity = new PlayerPickEntityEvent(player, (int) packetContainer.read(0).getData(), player.getInventory().getHeldItemSlot(), player.getInventory());
+        callEvent(PickEntity);
+        return PickEntity.isCancelled();
+    }
+
+    /**
+     * Calls the PlayerAutoCraftEvent for the auto recipe packet.
+     *
+     * @param player          - the player tied to the packet.
+     * @param packetContainer - the PacketContainer.
+     * @return If the packet should be cancelled.
+     */
+    private static boolean handleAutoCraft(final @Nonnull Player player, final @Nonnull PacketContainer packetContainer) {
+        final PlayerAutoCraftEvent AutoCraft = new PlayerAutoCraftEvent(player, CompatUtils.getTopInventory(player), (boolean) (ServerUtils.hasUpdate("1_20_5") && packetContainer.read(3).getData() instanceof Boolean ? packetContainer.read(3) : packetContainer.read(2)).getData());
+        callEvent(AutoCraft);
+        return AutoCraft.isCancelled();
+    }
+
+    /**
+     * Calls the InventoryCloseEvent for the close window packet.
+     *
+     * @param player          - the player tied to the packet.
+     * @param packetContainer - the PacketContainer.
+     * @return If the packet should be cancelled.
+     */
+    private static boolean handleCloseWindow(final @Nonnull Player player, final @Nonnull PacketContainer packetContainer) {
+        final InventoryCloseEvent CloseInventory = new InventoryCloseEvent(CompatUtils.getOpenInventory(player));
+        callEvent(CloseInventory);
+        return CloseInventory.isCancelled();
+    }
+
+    /**
+     * Calls the PrepareAnvilEvent or PlayerPickBlockEvent for the custom payload and rename item packets.
+     *
+     * @param player          - the player tied to the packet.
+     * @param packetContainer - the PacketContainer.
+     * @return If the packet should be cancelled.
+     */
+    private static boolean handleCustomPayload(final @Nonnull Player player, final @Nonnull PacketContainer packetContainer) {
+        if (packetContainer.read(0).getData().toString().equalsIgnoreCase("MC|ItemName") && CompatUtils.getInventoryType(player).name().equalsIgnoreCase("ANVIL")) {
+            final Object UnbufferedPayload = packetContainer.read(1).getData();
+            final String renameText = (String) ReflectionUtils.getMethod(UnbufferedPayload.getClass(), MinecraftMethod.readUtf.getMethod(), int.class).invoke(UnbufferedPayload, 31);
+            final PrepareAnvilEvent PrepareAnvil = new PrepareAnvilEvent(CompatUtils.getOpenInventory(player), renameText);
+            callEvent(PrepareAnvil);
+            return PrepareAnvil.isCancelled();
+        } else if (packetContainer.read(0).getData().toString().equalsIgnoreCase("MC|PickItem")) {
+            final PlayerPickBlockEvent PickBlock = new PlayerPickBlockEvent(player, null, player.getInventory().getHeldItemSlot(), player.getInventory());
+            callEvent(PickBlock);
+            return PickBlock.isCancelled();
+        }
+        return false;
+    }
+
+    /**
+     * Calls the PlayerCloneItemEvent for the window click packet.
+     *
+     * @param player          - the player tied to the packet.
+     * @param packetContainer - the PacketContainer.
+     * @return If the packet should be cancelled.
+     */
+    private static boolean handleWindowClick(final @Nonnull Player player, final @Nonnull PacketContainer packetContainer) {
+        if (packetContainer.read(5).getData().toString().equalsIgnoreCase("QUICK_CRAFT")) {
+            final int slot = (ServerUtils.hasUpdate("1_17") ? (int) packetContainer.read(3).getData() : (int) packetContainer.read(1).getData());
+            if (slot >= 0) {
+                final PlayerCloneItemEvent CloneItem = new PlayerCloneItemEvent(player, slot, ClickType.MIDDLE);
+                callEvent(CloneItem);
+                return CloneItem.isCancelled();
+            }
+        }
         return false;
     }
 
@@ -223,4 +342,18 @@ public class ProtocolManager {
     public static boolean isDead() {
         return (protocol == null);
     }
+
+    /**
+     * Handles an inbound packet, calling its custom plugin events.
+     */
+    private interface PacketHandler {
+        /**
+         * Handles the packet.
+         *
+         * @param player          - the player tied to the packet.
+         * @param packetContainer - the PacketContainer.
+         * @return If the packet should be cancelled.
+         */
+        boolean handle(final @Nonnull Player player, final @Nonnull PacketContainer packetContainer);
+    }
 }
\ No newline at end of file
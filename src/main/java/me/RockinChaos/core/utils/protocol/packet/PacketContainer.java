@@ -17,18 +17,23 @@
  */
 package me.RockinChaos.core.utils.protocol.packet;
 
-import me.RockinChaos.core.utils.ReflectionUtils;
 import me.RockinChaos.core.utils.ServerUtils;
 
 import javax.annotation.Nonnull;
-import java.lang.reflect.Field;
+import javax.annotation.Nullable;
 import java.util.HashMap;
 
+/**
+ * The data fields of a packet, read by their declaration index.
+ * Fields are only read when requested, the layout of each packet class is resolved once and shared by all of its packets.
+ */
 @SuppressWarnings("unused")
 public class PacketContainer {
+    private static final PacketObject UNREADABLE = new PacketObject("", new Object());
 
     protected final Object packet;
-    final HashMap<Integer, PacketObject> dataFields = new HashMap<>();
+    private final PacketSchema schema;
+    private PacketObject[] dataFields;
 
     /**
      * Creates a new PacketContainer instance.
@@ -37,34 +42,56 @@ public class PacketContainer {
      */
     public PacketContainer(final @Nonnull Object packet) {
         this.packet = packet;
-        int fieldNumber = 0;
-        try {
-            for (final Field field : ReflectionUtils.getDeclaredFields(this.packet.getClass())) {
-                final ReflectionUtils.FieldAccessor<Object> accessor = ReflectionUtils.getField(this.packet.getClass(), field.getName());
-                dataFields.put(fieldNumber, new PacketObject(field.getName(), accessor.get(this.packet)));
-                fieldNumber++;
-            }
-        } catch (Exception e) {
-            ServerUtils.sendSevereTrace(e);
-        }
+        this.schema = PacketSchema.of(packet.getClass());
     }
 
     /**
      * Gets the data fields of the Packet Object.
+     * Reads every data field of the packet.
      *
      * @return The HashMap of the Fields for the Packet Object.
      */
     public @Nonnull HashMap<Integer, PacketObject> getStrings() {
-        return this.dataFields;
+        final HashMap<Integer, PacketObject> strings = new HashMap<>();
+        for (int i = 0; i < this.schema.size(); i++) {
+            final PacketObject object = this.read(i);
+            if (object == null) {
+                break;
+            }
+            strings.put(i, object);
+        }
+        return strings;
     }
 
     /**
      * Attempts to read a line from the PacketObject.
+     * A data field that fails to be read is logged once and then treated as missing for every packet of its class.
      *
      * @param readable - The line to be read.
-     * @return The found PacketObject of the Data Field.
+     * @return The found PacketObject of the Data Field, null if the packet has no such field or it could not be read.
      */
-    public @Nonnull PacketObject read(final int readable) {
-        return this.dataFields.get(readable);
+    public @Nullable PacketObject read(final int readable) {
+        if (readable < 0 || readable >= this.schema.size()) {
+            return null;
+        }
+        if (this.dataFields == null) {
+            this.dataFields = new PacketObject[this.schema.size()];
+        }
+        PacketObject object = this.dataFields[readable];
+        if (object == null) {
+            if (!this.schema.isReadable(readable)) {
+                object = UNREADABLE;
+            } else {
+                try {
+                    object = new PacketObject(this.schema.getName(readable), this.schema.read(this.packet, readable));
+                } catch (Exception e) {
+                    this.schema.setUnreadable(readable);
+                    ServerUtils.sendSevereTrace(e);
+                    object = UNREADABLE;
+                }
+            }
+            this.dataFields[readable] = object;
+        }
+        return object != UNREADABLE ? object : null;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,134 @@
+/*
+ * ChaosCore
+ * Copyright (C) CraftationGaming <https://www.craftationgaming.com/>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package me.RockinChaos.core.utils.protocol.packet;
+
+import me.RockinChaos.core.utils.ReflectionUtils;
+import me.RockinChaos.core.utils.ServerUtils;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The ordered data fields of a packet class, resolved once per class.
+ * Fields are numbered in declaration order, matching the indices read from a {@link PacketContainer}.
+ */
+final class PacketSchema {
+    private static final Map<Class<?>, PacketSchema> SCHEMAS = new ConcurrentHashMap<>();
+    private final String[] names;
+    private final ReflectionUtils.FieldAccessor<?>[] accessors;
+    private final boolean[] unreadable;
+
+    /**
+     * Creates a new PacketSchema instance.
+     *
+     * @param names     - The names of the data fields.
+     * @param accessors - The accessors of the data fields, in the same order as their names.
+     */
+    private PacketSchema(final @Nonnull String[] names, final @Nonnull ReflectionUtils.FieldAccessor<?>[] accessors) {
+        this.names = names;
+        this.accessors = accessors;
+        this.unreadable = new boolean[names.length];
+    }
+
+    /**
+     * Gets the schema of the packet class, resolving it the first time the class is seen.
+     *
+     * @param packetClass - The class of the packet.
+     * @return The schema of the packet class.
+     */
+    static @Nonnull PacketSchema of(final @Nonnull Class<?> packetClass) {
+        final PacketSchema schema = SCHEMAS.get(packetClass);
+        return schema != null ? schema : SCHEMAS.computeIfAbsent(packetClass, PacketSchema::resolve);
+    }
+
+    /**
+     * Resolves the data fields of the packet class.
+     * If a field cannot be resolved the fields resolved before it are kept.
+     *
+     * @param packetClass - The class of the packet.
+     * @return The schema of the packet class.
+     */
+    private static @Nonnull PacketSchema resolve(final @Nonnull Class<?> packetClass) {
+        final List<String> names = new ArrayList<>();
+        final List<ReflectionUtils.FieldAccessor<?>> accessors = new ArrayList<>();
+        try {
+            for (final Field field : ReflectionUtils.getDeclaredFields(packetClass)) {
+                accessors.add(ReflectionUtils.getField(packetClass, field.getName()));
+                names.add(field.getName());
+            }
+        } catch (Exception e) {
+            ServerUtils.sendSevereTrace(e);
+        }
+        return new PacketSchema(names.toArray(new String[0]), accessors.toArray(new ReflectionUtils.FieldAccessor<?>[0]));
+    }
+
+    /**
+     * Gets the number of data fields.
+     *
+     * @return The number of data fields.
+     */
+    int size() {
+        return this.names.length;
+    }
+
+    /**
+     * Gets the name of a data field.
+     *
+     * @param index - The index of the data field.
+     * @return The name of the data field.
+     */
+    @Nonnull String getName(final int index) {
+        return this.names[index];
+    }
+
+    /**
+     * Checks if the data field has not failed to be read.
+     *
+     * @param index - The index of the data field.
+     * @return If the data field can be read.
+     */
+    boolean isReadable(final int index) {
+        return !this.unreadable[index];
+    }
+
+    /**
+     * Marks the data field as failing to be read, so that it is no longer read from later packets.
+     * Racing readers may log the same failure more than once before the mark is seen.
+     *
+     * @param index - The index of the data field.
+     */
+    void setUnreadable(final int index) {
+        this.unreadable[index] = true;
+    }
+
+    /**
+     * Reads the value of a data field from the packet.
+     *
+     * @param packet - The packet being read.
+     * @param index  - The index of the data field.
+     * @return The value of the data field.
+     */
+    @Nullable Object read(final @Nonnull Object packet, final int index) {
+        return this.accessors[index].get(packet);
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ * ChaosCore
+ * Copyright (C) CraftationGaming <https://www.craftationgaming.com/>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package me.RockinChaos.core.utils.sql;
+
+import me.RockinChaos.core.Core;
+import me.RockinChaos.core.utils.SchedulerUtils;
+import me.RockinChaos.core.utils.ServerUtils;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A write-behind queue for database mutations.
+ * Mutations are grouped per table and flushed as JDBC batches inside a single transaction,
+ * either once the queue reaches the configured batch size or when the flush interval elapses.
+ */
+@SuppressWarnings("unused")
+public class BatchQueue {
+
+    private static BatchQueue queue;
+    private final ConcurrentLinkedQueue<Write> writes = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger depth = new AtomicInteger();
+    private final AtomicLong flushCount = new AtomicLong();
+    private final AtomicLong writtenCount = new AtomicLong();
+    private final AtomicLong totalFlushNanos = new AtomicLong();
+    private volatile long lastFlushNanos = 0L;
+    private volatile long maxFlushNanos = 0L;
+    private int flushTask = 0;
+
+    /**
+     * Gets the instance of the BatchQueue.
+     *
+     * @return The BatchQueue instance.
+     */
+    public static synchronized @Nonnull BatchQueue getQueue() {
+        if (queue == null) {
+            queue = new BatchQueue();
+        }
+        return queue;
+    }
+
+    /**
+     * Queues a mutation to be written on the next flush.
+     *
+     * @param table     - The table being written to, used to group the mutation.
+     * @param statement - The statement to be executed.
+     * @param params    - The values bound to the statement placeholders, or null to execute the statement as is.
+     */
+    public void enqueue(final @Nonnull String table, final @Nonnull String statement, final @Nullable Object[] params) {
+        this.writes.add(new Write(table, statement, params));
+        final int size = this.depth.incrementAndGet();
+        if (!Core.getCore().getPlugin().isEnabled()) {
+            this.flush();
+            return;
+        }
+        this.schedule();
+        if (size >= Core.getCore().getData().getSQLBatchSize()) {
+            SchedulerUtils.runSingleAsync(this, this::flush);
+        }
+    }
+
+    /**
+     * Writes all queued mutations to the database on the calling thread.
+     */
+    public synchronized void flush() {
+        if (this.writes.isEmpty()) return;
+        final long start = System.nanoTime();
+        final Map<String, List<Write>> tables = new LinkedHashMap<>();
+        int drained = 0;
+        Write write;
+        while ((write = this.writes.poll()) != null) {
+            tables.computeIfAbsent(write.table, table -> new ArrayList<>()).add(write);
+            drained++;
+        }
+        this.depth.addAndGet(-drained);
+        final List<Write> ordered = new ArrayList<>(drained);
+        for (final List<Write> tableWrites : tables.values()) {
+            ordered.addAll(tableWrites);
+        }
+        final Database database = Database.getDatabase();
+        if (!database.executeBatch(ordered)) {
+            ServerUtils.logDebug("{SQL} Batch of " + drained + " write(s) failed, retrying each write individually.");
+            for (final Write failed : ordered) {
+                database.executeStatement(failed.statement, failed.params);
+            }
+        }
+        final long duration = System.nanoTime() - start;
+        this.lastFlushNanos = duration;
+        if (duration > this.maxFlushNanos) {
+            this.maxFlushNanos = duration;
+        }
+        this.totalFlushNanos.addAndGet(duration);
+        this.flushCount.incrementAndGet();
+        this.writtenCount.addAndGet(drained);
+    }
+
+    /**
+     * Writes all queued mutations and stops the interval flush task.
+     * Called when the database is being closed.
+     */
+    public void drain() {
+        synchronized (this) {
+            if (this.flushTask != 0) {
+                SchedulerUtils.cancelTask(this.flushTask);
+                this.flushTask = 0;
+            }
+        }
+        this.flush();
+    }
+
+    /**
+     * Starts the interval flush task if it is not already running.
+     */
+    private synchronized void schedule() {
+        if (this.flushTask == 0) {
+            final long interval = Core.getCore().getData().getSQLBatchInterval();
+            this.flushTask = SchedulerUtils.runAsyncAtInterval(interval, interval, this::flush);
+        }
+    }
+
+    /**
+     * Gets the number of mutations waiting to be written.
+     *
+     * @return The current queue depth.
+     */
+    public int getQueueDepth() {
+        return this.depth.get();
+    }
+
+    /**
+     * Gets the number of flushes performed.
+     *
+     * @return The number of flushes.
+     */
+    public long getFlushCount() {
+        return this.flushCount.get();
+    }
+
+    /**
+     * Gets the number of mutations written.
+     *
+     * @return The number of written mutations.
+     */
+    public long getWrittenCount() {
+        return this.writtenCount.get();
+    }
+
+    /**
+     * Gets the duration of the last flush.
+     *
+     * @return The last flush latency in milliseconds.
+     */
+    public double getLastFlushMillis() {
+        return this.lastFlushNanos / 1_000_000.0;
+    }
+
+    /**
+     * Gets the duration of the slowest flush.
+     *
+     * @return The maximum flush latency in milliseconds.
+     */
+    public double getMaxFlushMillis() {
+        return this.maxFlushNanos / 1_000_000.0;
+    }
+
+    /**
+     * Gets the average duration of a flush.
+     *
+     * @return The average flush latency in milliseconds.
+     */
+    public double getAverageFlushMillis() {
+        final long count = this.flushCount.get();
+        return count == 0 ? 0.0 : (this.totalFlushNanos.get() / (double) count) / 1_000_000.0;
+    }
+
+    /**
+     * A single queued mutation.
+     */
+    static class Write {
+        final String table;
+        final String statement;
+        final Object[] params;
+
+        /**
+         * Creates a new queued mutation.
+         *
+         * @param table     - The table being written to.
+         * @param statement - The statement to be executed.
+         * @param params    - The values bound to the statement placeholders, or null to execute the statement as is.
+         */
+        Write(final @Nonnull String table, final @Nonnull String statement, final @Nullable Object[] params) {
+            this.table = table;
+            this.statement = statement;
+            this.params = params;
+        }
+    }
+}
@@ -0,0 +1,277 @@
+/*
+ * ChaosCore
+ * Copyright (C) CraftationGaming <https://www.craftationgaming.com/>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package me.RockinChaos.core.utils.sql;
+
+import me.RockinChaos.core.utils.ServerUtils;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A bounded pool of MySQL connections.
+ * Connections are borrowed for the duration of a single statement and returned once it has been closed,
+ * allowing multiple threads to query the database in parallel instead of sharing a single socket.
+ */
+class ConnectionPool {
+    private static final long BORROW_TIMEOUT = 30000L;
+    private static final int VALIDATION_TIMEOUT = 5;
+
+    private final LinkedBlockingDeque<Pooled> idle = new LinkedBlockingDeque<>();
+    private final Map<Connection, Pooled> borrowed = new ConcurrentHashMap<>();
+    private final Semaphore permits;
+    private final Factory factory;
+    private final int size;
+    private final long validation;
+    private final long lifetime;
+    private volatile boolean shutdown = false;
+
+    /**
+     * Creates a new ConnectionPool.
+     *
+     * @param factory    - The factory used to open new connections.
+     * @param size       - The maximum number of connections that may be open at once.
+     * @param validation - The time in milliseconds a connection may sit idle before it is validated on borrow.
+     * @param lifetime   - The maximum lifetime in milliseconds of a connection, 0 if connections never expire.
+     */
+    ConnectionPool(final @Nonnull Factory factory, final int size, final long validation, final long lifetime) {
+        this.factory = factory;
+        this.size = Math.max(1, size);
+        this.validation = validation;
+        this.lifetime = lifetime;
+        this.permits = new Semaphore(this.size, true);
+    }
+
+    /**
+     * Borrows a connection from the pool, opening a new connection if no idle connection is available.
+     * The connection must be handed back through {@link #release(Connection)} or {@link #invalidate(Connection)}.
+     *
+     * @return The borrowed connection.
+     * @throws SQLException If the pool is shut down, exhausted, or a new connection could not be opened.
+     */
+    @Nonnull Connection borrow() throws SQLException {
+        if (this.shutdown) {
+            throw new SQLException("{SQL} Connection pool has been shut down.");
+        }
+        try {
+            if (!this.permits.tryAcquire(BORROW_TIMEOUT, TimeUnit.MILLISECONDS)) {
+                throw new SQLException("{SQL} Timed out waiting for a pooled connection, all " + this.size + " connections are in use.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("{SQL} Interrupted while waiting for a pooled connection.", e);
+        }
+        try {
+            Pooled pooled;
+            while ((pooled = this.idle.pollFirst()) != null) {
+                if (this.isUsable(pooled)) {
+                    break;
+                }
+                this.discard(pooled);
+            }
+            if (pooled == null) {
+                pooled = new Pooled(this.factory.open());
+            }
+            this.borrowed.put(pooled.connection, pooled);
+            return pooled.connection;
+        } catch (SQLException | RuntimeException e) {
+            this.permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns a borrowed connection to the pool.
+     *
+     * @param connection - The connection being returned.
+     * @return If the connection belonged to this pool.
+     */
+    boolean release(final @Nonnull Connection connection) {
+        final Pooled pooled = this.borrowed.remove(connection);
+        if (pooled == null) {
+            return false;
+        }
+        try {
+            if (this.shutdown || this.isExpired(pooled) || connection.isClosed()) {
+                this.discard(pooled);
+            } else {
+                if (!connection.getAutoCommit()) {
+                    connection.rollback();
+                    connection.setAutoCommit(true);
+                }
+                pooled.lastUsed = System.currentTimeMillis();
+                this.idle.offerFirst(pooled);
+            }
+        } catch (SQLException e) {
+            this.discard(pooled);
+        } finally {
+            this.permits.release();
+        }
+        return true;
+    }
+
+    /**
+     * Closes a borrowed connection and removes it from the pool.
+     * Used when a connection is known to be broken.
+     *
+     * @param connection - The connection being invalidated.
+     * @return If the connection belonged to this pool.
+     */
+    boolean invalidate(final @Nonnull Connection connection) {
+        final Pooled pooled = this.borrowed.remove(connection);
+        if (pooled == null) {
+            return false;
+        }
+        this.discard(pooled);
+        this.permits.release();
+        return true;
+    }
+
+    /**
+     * Checks if the connection is currently borrowed from this pool.
+     *
+     * @param connection - The connection being checked.
+     * @return If the connection is borrowed from this pool.
+     */
+    boolean owns(final @Nullable Connection connection) {
+        return connection != null && this.borrowed.containsKey(connection);
+    }
+
+    /**
+     * Gets the statement cache of a borrowed connection.
+     *
+     * @param connection - The borrowed connection.
+     * @return The statement cache of the connection, or null if the connection is not borrowed from this pool.
+     */
+    @Nullable StatementCache getStatements(final @Nonnull Connection connection) {
+        final Pooled pooled = this.borrowed.get(connection);
+        return pooled != null ? pooled.statements : null;
+    }
+
+    /**
+     * Closes all idle connections, forcing new connections to be opened on the next borrow.
+     */
+    void evictIdle() {
+        Pooled pooled;
+        while ((pooled = this.idle.pollFirst()) != null) {
+            this.discard(pooled);
+        }
+    }
+
+    /**
+     * Shuts down the pool, closing all idle connections.
+     * Borrowed connections are closed as they are returned.
+     */
+    void shutdown() {
+        this.shutdown = true;
+        this.evictIdle();
+    }
+
+    /**
+     * Gets the number of connections currently borrowed from the pool.
+     *
+     * @return The number of active connections.
+     */
+    int getActive() {
+        return this.borrowed.size();
+    }
+
+    /**
+     * Gets the number of connections currently idle in the pool.
+     *
+     * @return The number of idle connections.
+     */
+    int getIdle() {
+        return this.idle.size();
+    }
+
+    /**
+     * Checks if the idle connection can be handed out,
+     * validating it with the server if it has been idle longer than the validation time.
+     *
+     * @param pooled - The idle connection being checked.
+     * @return If the connection is usable.
+     */
+    private boolean isUsable(final @Nonnull Pooled pooled) {
+        if (this.isExpired(pooled)) {
+            return false;
+        }
+        try {
+            if (pooled.connection.isClosed()) {
+                return false;
+            }
+            return System.currentTimeMillis() - pooled.lastUsed < this.validation || pooled.connection.isValid(VALIDATION_TIMEOUT);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Checks if the connection has exceeded its maximum lifetime.
+     *
+     * @param pooled - The connection being checked.
+     * @return If the connection has expired.
+     */
+    private boolean isExpired(final @Nonnull Pooled pooled) {
+        return this.lifetime > 0 && System.currentTimeMillis() - pooled.created >= this.lifetime;
+    }
+
+    /**
+     * Closes the connection, ignoring any failure.
+     *
+     * @param pooled - The connection being closed.
+     */
+    private void discard(final @Nonnull Pooled pooled) {
+        pooled.statements.close();
+        try {
+            pooled.connection.close();
+        } catch (SQLException e) {
+            ServerUtils.logDebug("{SQL} Failed to close a pooled connection: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Opens new connections for the pool.
+     */
+    interface Factory {
+        @Nonnull Connection open() throws SQLException;
+    }
+
+    /**
+     * A connection owned by the pool along with its statement cache and bookkeeping times.
+     */
+    private static class Pooled {
+        private final Connection connection;
+        private final StatementCache statements;
+        private final long created;
+        private volatile long lastUsed;
+
+        private Pooled(final @Nonnull Connection connection) {
+            this.connection = connection;
+            this.statements = new StatementCache(connection, StatementCache.DEFAULT_SIZE);
+            this.created = System.currentTimeMillis();
+            this.lastUsed = this.created;
+        }
+    }
+}
@@ -0,0 +1,299 @@
+/*
+ * ChaosCore
+ * Copyright (C) CraftationGaming <https://www.craftationgaming.com/>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package me.RockinChaos.core.utils.sql;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves the data object methods used by {@link SQL} once per class.
+ * {@link DataObject} implementations are called directly,
+ * other classes have their methods bound to MethodHandles the first time the class is seen.
+ */
+abstract class DataAccessor {
+    private static final Map<Class<?>, DataAccessor> ACCESSORS = new ConcurrentHashMap<>();
+    private static final DataAccessor DIRECT = new Direct();
+    private final Map<Class<?>, Map<String, MethodHandle>> getters = new ConcurrentHashMap<>();
+
+    /**
+     * Gets the accessor for the class of the data object.
+     *
+     * @param object - The data object.
+     * @return The accessor of the data object.
+     */
+    static @Nonnull DataAccessor of(final @Nonnull Object object) {
+        if (object instanceof DataObject) {
+            return DIRECT;
+        }
+        return ACCESSORS.computeIfAbsent(object.getClass(), Reflective::new);
+    }
+
+    abstract @Nonnull String getTableName(final @Nonnull Object object);
+
+    abstract @Nonnull String getTableHeaders(final @Nonnull Object object);
+
+    abstract @Nonnull String getInsertValues(final @Nonnull Object object);
+
+    abstract @Nonnull String getTableRemoval(final @Nonnull Object object);
+
+    abstract @Nonnull String getRemovalValues(final @Nonnull Object object);
+
+    abstract boolean equalsData(final @Nonnull Object object, final @Nonnull Object compare);
+
+    abstract boolean isTemporary(final @Nonnull Object object);
+
+    abstract @Nullable Object[] getInsertParameters(final @Nonnull Object object);
+
+    abstract @Nullable Object[] getRemovalParameters(final @Nonnull Object object);
+
+    /**
+     * Invokes a no-argument accessor of the data object, such as {@code getPlayerId}.
+     * The accessor is bound once per class and name.
+     *
+     * @param object   - The data object.
+     * @param accessor - The name of the method being invoked.
+     * @return The value returned by the accessor.
+     */
+    @Nullable Object get(final @Nonnull Object object, final @Nonnull String accessor) {
+        final Class<?> clazz = object.getClass();
+        Map<String, MethodHandle> classGetters = this.getters.get(clazz);
+        if (classGetters == null) {
+            classGetters = this.getters.computeIfAbsent(clazz, key -> new ConcurrentHashMap<>());
+        }
+        MethodHandle getter = classGetters.get(accessor);
+        if (getter == null) {
+            getter = classGetters.computeIfAbsent(accessor, key -> bind(clazz, key, MethodType.methodType(Object.class, Object.class)));
+        }
+        try {
+            return getter.invokeExact(object);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    /**
+     * Binds the public method of the class to a MethodHandle adapted to the specified type.
+     *
+     * @param clazz - The class declaring the method.
+     * @param name  - The name of the method.
+     * @param type  - The type the MethodHandle is adapted to, the first parameter being the receiver.
+     * @return The bound MethodHandle.
+     */
+    private static @Nonnull MethodHandle bind(final @Nonnull Class<?> clazz, final @Nonnull String name, final @Nonnull MethodType type) {
+        try {
+            final Method method = clazz.getMethod(name, type.dropParameterTypes(0, 1).parameterArray());
+            method.setAccessible(true);
+            return MethodHandles.lookup().unreflect(method).asType(type);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new IllegalStateException("{SQL} The data object " + clazz.getName() + " does not declare the method " + name + ".", e);
+        }
+    }
+
+    /**
+     * Rethrows the failure of an invoked data object method as an unchecked exception.
+     *
+     * @param t - The failure.
+     * @return Never returns, declared so callers can throw the result.
+     */
+    private static @Nonnull RuntimeException rethrow(final @Nonnull Throwable t) {
+        if (t instanceof RuntimeException) {
+            return (RuntimeException) t;
+        } else if (t instanceof Error) {
+            throw (Error) t;
+        }
+        return new IllegalStateException(t);
+    }
+
+    /**
+     * Calls {@link DataObject} implementations directly.
+     */
+    private static class Direct extends DataAccessor {
+
+        @Override
+        @Nonnull String getTableName(final @Nonnull Object object) {
+            return ((DataObject) object).getTableName();
+        }
+
+        @Override
+        @Nonnull String getTableHeaders(final @Nonnull Object object) {
+            return ((DataObject) object).getTableHeaders();
+        }
+
+        @Override
+        @Nonnull String getInsertValues(final @Nonnull Object object) {
+            return ((DataObject) object).getInsertValues();
+        }
+
+        @Override
+        @Nonnull String getTableRemoval(final @Nonnull Object object) {
+            return ((DataObject) object).getTableRemoval();
+        }
+
+        @Override
+        @Nonnull String getRemovalValues(final @Nonnull Object object) {
+            return ((DataObject) object).getRemovalValues();
+        }
+
+        @Override
+        boolean equalsData(final @Nonnull Object object, final @Nonnull Object compare) {
+            return ((DataObject) object).equalsData(object, compare);
+        }
+
+        @Override
+        boolean isTemporary(final @Nonnull Object object) {
+            return ((DataObject) object).isTemporary();
+        }
+
+        @Override
+        @Nullable Object[] getInsertParameters(final @Nonnull Object object) {
+            return ((DataObject) object).getInsertParameters();
+        }
+
+        @Override
+        @Nullable Object[] getRemovalParameters(final @Nonnull Object object) {
+            return ((DataObject) object).getRemovalParameters();
+        }
+    }
+
+    /**
+     * Calls the data object methods of classes that do not implement {@link DataObject} through MethodHandles bound once per class.
+     */
+    private static class Reflective extends DataAccessor {
+        private static final MethodType STRING = MethodType.methodType(String.class, Object.class);
+        private final MethodHandle tableName;
+        private final MethodHandle tableHeaders;
+        private final MethodHandle insertValues;
+        private final MethodHandle tableRemoval;
+        private final MethodHandle removalValues;
+        private final MethodHandle equalsData;
+        private final MethodHandle temporary;
+
+        /**
+         * Binds the data object methods of the class.
+         *
+         * @param clazz - The class of the data object.
+         */
+        private Reflective(final @Nonnull Class<?> clazz) {
+            this.tableName = bind(clazz, "getTableName", STRING);
+            this.tableHeaders = bind(clazz, "getTableHeaders", STRING);
+            this.insertValues = bind(clazz, "getInsertValues", STRING);
+            this.tableRemoval = bind(clazz, "getTableRemoval", STRING);
+            this.removalValues = bind(clazz, "getRemovalValues", STRING);
+            this.equalsData = bind(clazz, "equalsData", MethodType.methodType(boolean.class, Object.class, Object.class, Object.class));
+            this.temporary = bindOptional(clazz, "isTemporary", MethodType.methodType(boolean.class, Object.class));
+        }
+
+        /**
+         * Binds a method that not every data object declares.
+         *
+         * @param clazz - The class declaring the method.
+         * @param name  - The name of the method.
+         * @param type  - The type the MethodHandle is adapted to.
+         * @return The bound MethodHandle, or null if the class does not declare the method.
+         */
+        private static @Nullable MethodHandle bindOptional(final @Nonnull Class<?> clazz, final @Nonnull String name, final @Nonnull MethodType type) {
+            try {
+                return bind(clazz, name, type);
+            } catch (IllegalStateException e) {
+                return null;
+            }
+        }
+
+        @Override
+        @Nonnull String getTableName(final @Nonnull Object object) {
+            try {
+                return (String) this.tableName.invokeExact(object);
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        }
+
+        @Override
+        @Nonnull String getTableHeaders(final @Nonnull Object object) {
+            try {
+                return (String) this.tableHeaders.invokeExact(object);
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        }
+
+        @Override
+        @Nonnull String getInsertValues(final @Nonnull Object object) {
+            try {
+                return (String) this.insertValues.invokeExact(object);
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        }
+
+        @Override
+        @Nonnull String getTableRemoval(final @Nonnull Object object) {
+            try {
+                return (String) this.tableRemoval.invokeExact(object);
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        }
+
+        @Override
+        @Nonnull String getRemovalValues(final @Nonnull Object object) {
+            try {
+                return (String) this.removalValues.invokeExact(object);
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        }
+
+        @Override
+        boolean equalsData(final @Nonnull Object object, final @Nonnull Object compare) {
+            try {
+                return (boolean) this.equalsData.invokeExact(object, object, compare);
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        }
+
+        @Override
+        boolean isTemporary(final @Nonnull Object object) {
+            if (this.temporary == null) {
+                throw new IllegalStateException("{SQL} The data object " + object.getClass().getName() + " does not declare the method isTemporary.");
+            }
+            try {
+                return (boolean) this.temporary.invokeExact(object);
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        }
+
+        @Override
+        @Nullable Object[] getInsertParameters(final @Nonnull Object object) {
+            return null;
+        }
+
+        @Override
+        @Nullable Object[] getRemovalParameters(final @Nonnull Object object) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * ChaosCore
+ * Copyright (C) CraftationGaming <https://www.craftationgaming.com/>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package me.RockinChaos.core.utils.sql;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * A row of data stored through {@link SQL}.
+ * Implementing this interface lets SQL call the data object directly,
+ * classes that only declare these methods without implementing the interface are still supported through reflection.
+ */
+@SuppressWarnings("unused")
+public interface DataObject {
+
+    /**
+     * Gets the name of the table, without the table prefix.
+     *
+     * @return The name of the table.
+     */
+    @Nonnull String getTableName();
+
+    /**
+     * Gets the comma separated columns written on insert.
+     *
+     * @return The table headers.
+     */
+    @Nonnull String getTableHeaders();
+
+    /**
+     * Gets the comma separated SQL values written on insert, in the order of {@link #getTableHeaders()}.
+     *
+     * @return The insert values.
+     */
+    @Nonnull String getInsertValues();
+
+    /**
+     * Gets the comma separated columns identifying the row on removal.
+     *
+     * @return The removal columns.
+     */
+    @Nonnull String getTableRemoval();
+
+    /**
+     * Gets the comma separated SQL values identifying the row on removal, in the order of {@link #getTableRemoval()}.
+     *
+     * @return The removal values.
+     */
+    @Nonnull String getRemovalValues();
+
+    /**
+     * Checks if the two data objects represent the same row.
+     *
+     * @param object  - The data object being looked up.
+     * @param compare - The stored data object being compared.
+     * @return If the data is equal.
+     */
+    boolean equalsData(final @Nonnull Object object, final @Nonnull Object compare);
+
+    /**
+     * Checks if the data object is a temporary lookup matching every row of its table.
+     *
+     * @return If the data object is temporary.
+     */
+    boolean isTemporary();
+
+    /**
+     * Gets the raw values bound on insert, in the order of {@link #getTableHeaders()}.
+     * When null the values are parsed from {@link #getInsertValues()}.
+     *
+     * @return The insert parameters.
+     */
+    default @Nullable Object[] getInsertParameters() {
+        return null;
+    }
+
+    /**
+     * Gets the raw values bound on removal, in the order of {@link #getTableRemoval()}.
+     * When null the values are parsed from {@link #getRemovalValues()}.
+     *
+     * @return The removal parameters.
+     */
+    default @Nullable Object[] getRemovalParameters() {
+        return null;
+    }
+}
@@ -20,8 +20,11 @@ package me.RockinChaos.core.utils.sql;
 import me.RockinChaos.core.Core;
 import me.RockinChaos.core.CoreData;
 import me.RockinChaos.core.utils.ReflectionUtils;
+import me.RockinChaos.core.utils.SchedulerUtils;
 import me.RockinChaos.core.utils.ServerUtils;
 import me.RockinChaos.core.utils.StringUtils;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -31,11 +34,17 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 @SuppressWarnings("unused")
 public class Database extends Controller {
 
     private static Database data;
+    private static ThreadPoolExecutor executor;
 
     /**
      * Creates a new instance of SQL Connections.
@@ -47,10 +56,12 @@ public class Database extends Controller {
     }
 
     /**
-     * Closes the active database connections and destroys existing Singletons.
+     * Writes any queued mutations, closes the active database connections and destroys existing Singletons.
      */
     public static void kill() {
         if (data != null) {
+            BatchQueue.getQueue().drain();
+            shutdownExecutor();
             data.closeConnection(true);
             data = null;
         }
@@ -65,7 +76,7 @@ public class Database extends Controller {
         if (data == null || !data.dataFolder.equalsIgnoreCase("database")) {
             data = new Database("database");
             try {
-                data.getConnection();
+                data.close(null, null, data.getConnection(), false);
             } catch (Exception e) {
                 ServerUtils.logSevere("{SQL} [1] Failed to open database connection.");
                 ServerUtils.sendDebugTrace(e);
@@ -84,7 +95,7 @@ public class Database extends Controller {
         if (data == null || !data.dataFolder.equalsIgnoreCase(baseName)) {
             data = new Database(baseName);
             try {
-                data.getConnection();
+                data.close(null, null, data.getConnection(), false);
             } catch (Exception e) {
                 ServerUtils.logSevere("{SQL} [2] Failed to open database connection.");
                 ServerUtils.sendDebugTrace(e);
@@ -99,10 +110,28 @@ public class Database extends Controller {
      * @param statement - the statement to be executed.
      */
     public void executeStatement(final @Nonnull String statement) {
+        this.executeStatement(statement, (Object[]) null);
+    }
+
+    /**
+     * Executes a specified SQL statement with the specified parameters bound to its placeholders.
+     * The statement is prepared once per connection and reused from the statement cache.
+     *
+     * @param statement - the statement to be executed.
+     * @param params    - the values bound to the statement placeholders, or null to execute the statement as is.
+     */
+    public void executeStatement(final @Nonnull String statement, final @Nullable Object... params) {
         Connection conn = null;
         Statement ps = null;
         try {
-            final Object[] executed = executeStatement(statement, false);
+            final Object[] executed;
+            if (Core.getCore().getData().sqlEnabled()) {
+                executed = this.execute(statement, false, params);
+            } else {
+                synchronized ("CC_SQL") { // SQLite writes share a single connection, they must not run inside a batch transaction.
+                    executed = this.execute(statement, false, params);
+                }
+            }
             conn = (Connection) executed[0];
             ps = (Statement) executed[1];
         } catch (Exception e) {
@@ -129,12 +158,24 @@ public class Database extends Controller {
      * @return The result in as an object.
      */
     public @Nullable Object queryValue(final @Nonnull String statement, final @Nonnull String row) {
+        return this.queryValue(statement, row, (Object[]) null);
+    }
+
+    /**
+     * Queries the specified row and the specified prepared statement for a specific value.
+     *
+     * @param statement - the statement to be executed.
+     * @param row       - the row being queried.
+     * @param params    - the values bound to the statement placeholders, or null to execute the statement as is.
+     * @return The result in as an object.
+     */
+    public @Nullable Object queryValue(final @Nonnull String statement, final @Nonnull String row, final @Nullable Object... params) {
         Connection conn = null;
         Statement ps = null;
         ResultSet rs = null;
         Object returnValue = null;
         try {
-            final Object[] executed = executeStatement(statement, true);
+            final Object[] executed = this.execute(statement, true, params);
             conn = (Connection) executed[0];
             ps = (Statement) executed[1];
             rs = (ResultSet) executed[2];
@@ -166,12 +207,24 @@ public class Database extends Controller {
      * @return The result in as a listed object.
      */
     public @Nonnull List<Object> queryRow(final @Nonnull String statement, final @Nonnull String row) {
+        return this.queryRow(statement, row, (Object[]) null);
+    }
+
+    /**
+     * Queries a row for a specified list of values using a prepared statement.
+     *
+     * @param statement - the statement to be executed.
+     * @param row       - the row being queried.
+     * @param params    - the values bound to the statement placeholders, or null to execute the statement as is.
+     * @return The result in as a listed object.
+     */
+    public @Nonnull List<Object> queryRow(final @Nonnull String statement, final @Nonnull String row, final @Nullable Object... params) {
         final List<Object> objects = new ArrayList<>();
         Connection conn = null;
         Statement ps = null;
         ResultSet rs = null;
         try {
-            final Object[] executed = executeStatement(statement, true);
+            final Object[] executed = this.execute(statement, true, params);
             conn = (Connection) executed[0];
             ps = (Statement) executed[1];
             rs = (ResultSet) executed[2];
@@ -203,12 +256,24 @@ public class Database extends Controller {
      * @return The result in as a listed list of strings.
      */
     public @Nonnull List<HashMap<String, String>> queryTableData(final @Nonnull String statement, final @Nonnull String rows) {
+        return this.queryTableData(statement, rows, (Object[]) null);
+    }
+
+    /**
+     * Queries a list of rows for their specified prepared statements for a specific list of multiple values.
+     *
+     * @param statement - the statement to be executed.
+     * @param rows      - the list of rows being queried.
+     * @param params    - the values bound to the statement placeholders, or null to execute the statement as is.
+     * @return The result in as a listed list of strings.
+     */
+    public @Nonnull List<HashMap<String, String>> queryTableData(final @Nonnull String statement, final @Nonnull String rows, final @Nullable Object... params) {
         final List<HashMap<String, String>> existingData = new ArrayList<>();
         Connection conn = null;
         Statement ps = null;
         ResultSet rs = null;
         try {
-            final Object[] executed = executeStatement(statement, true);
+            final Object[] executed = this.execute(statement, true, params);
             conn = (Connection) executed[0];
             ps = (Statement) executed[1];
             rs = (ResultSet) executed[2];
@@ -252,7 +317,7 @@ public class Database extends Controller {
         Statement ps = null;
         ResultSet rs = null;
         try {
-            final Object[] executed = executeStatement(statement, true);
+            final Object[] executed = this.execute(statement, true, null);
             conn = (Connection) executed[0];
             ps = (Statement) executed[1];
             rs = (ResultSet) executed[2];
@@ -281,6 +346,233 @@ public class Database extends Controller {
         return map;
     }
 
+    /**
+     * Streams the rows of a query to the consumer one at a time instead of loading the whole result into memory.
+     * Rows are fetched from the server in chunks of the configured fetch size, using a server-side cursor on MySQL.
+     * The connection is held until the last row has been consumed, so the consumer should not block.
+     *
+     * @param statement - the statement to be executed.
+     * @param mapper    - maps the current row of the ResultSet to an object.
+     * @param consumer  - receives each mapped row, in order.
+     * @param params    - the values bound to the statement placeholders.
+     * @return The number of rows streamed.
+     */
+    public <T> int stream(final @Nonnull String statement, final @Nonnull RowMapper<T> mapper, final @Nonnull Consumer<? super T> consumer, final @Nullable Object... params) {
+        Connection conn = null;
+        PreparedStatement ps = null;
+        ResultSet rs = null;
+        int rows = 0;
+        int fetchSize = -1;
+        try {
+            conn = this.getReadConnection();
+            ps = this.getStatements(conn).acquire(statement);
+            if (params != null) {
+                for (int i = 0; i < params.length; i++) {
+                    ps.setObject(i + 1, params[i]);
+                }
+            }
+            fetchSize = ps.getFetchSize();
+            ps.setFetchSize(Core.getCore().getData().getSQLFetchSize());
+            rs = ps.executeQuery();
+            while (rs.next()) {
+                consumer.accept(mapper.map(rs));
+                rows++;
+            }
+        } catch (Exception e) {
+            ServerUtils.logSevere("{SQL} [8] Failed to stream database statement after " + rows + " row(s).");
+            if (conn != null) {
+                try {
+                    ServerUtils.logSevere("{SQL} [8] Database Status: Open: " + !this.isClosed(conn) + "! Writable: " + !conn.isReadOnly() + "!");
+                } catch (Exception e2) {
+                    ServerUtils.logSevere("{SQL} [8] Failed to determine the Database Status.");
+                }
+            }
+            ServerUtils.logSevere("{SQL} [8] Statement: " + statement);
+            ServerUtils.sendSevereTrace(e);
+        } finally {
+            if (rs != null) {
+                try {
+                    rs.close();
+                } catch (SQLException e) {
+                    ServerUtils.sendDebugTrace(e);
+                }
+            }
+            if (ps != null && fetchSize >= 0) {
+                try {
+                    ps.setFetchSize(fetchSize); // The statement is handed back to the statement cache, later uses must not inherit the streaming fetch size.
+                } catch (SQLException e) {
+                    ServerUtils.sendDebugTrace(e);
+                }
+            }
+            this.close(ps, null, conn, false);
+        }
+        return rows;
+    }
+
+    /**
+     * Streams the specified columns of each row of a query to the consumer one at a time.
+     *
+     * @param statement - the statement to be executed.
+     * @param rows      - the comma separated list of columns being read.
+     * @param consumer  - receives the column values of each row, in order.
+     * @param params    - the values bound to the statement placeholders.
+     * @return The number of rows streamed.
+     */
+    public int streamTableData(final @Nonnull String statement, final @Nonnull String rows, final @Nonnull Consumer<HashMap<String, String>> consumer, final @Nullable Object... params) {
+        final String[] columns = rows.split(", ");
+        return this.stream(statement, rs -> {
+            final HashMap<String, String> columnData = new HashMap<>();
+            for (final String column : columns) {
+                columnData.put(column, rs.getString(column));
+            }
+            return columnData;
+        }, consumer, params);
+    }
+
+    /**
+     * Executes a specified SQL statement on the database executor.
+     *
+     * @param statement - the statement to be executed.
+     * @param params    - the values bound to the statement placeholders, or null to execute the statement as is.
+     * @return The future completed once the statement has been executed.
+     */
+    public @Nonnull CompletableFuture<Void> executeAsync(final @Nonnull String statement, final @Nullable Object... params) {
+        return submit(() -> {
+            this.executeStatement(statement, params);
+            return null;
+        });
+    }
+
+    /**
+     * Queries the specified row and the specified statement for a specific value on the database executor.
+     *
+     * @param statement - the statement to be executed.
+     * @param row       - the row being queried.
+     * @param params    - the values bound to the statement placeholders, or null to execute the statement as is.
+     * @return The future completed with the result in as an object.
+     */
+    public @Nonnull CompletableFuture<Object> queryValueAsync(final @Nonnull String statement, final @Nonnull String row, final @Nullable Object... params) {
+        return submit(() -> this.queryValue(statement, row, params));
+    }
+
+    /**
+     * Queries a row for a specified list of values on the database executor.
+     *
+     * @param statement - the statement to be executed.
+     * @param row       - the row being queried.
+     * @param params    - the values bound to the statement placeholders, or null to execute the statement as is.
+     * @return The future completed with the result in as a listed object.
+     */
+    public @Nonnull CompletableFuture<List<Object>> queryRowAsync(final @Nonnull String statement, final @Nonnull String row, final @Nullable Object... params) {
+        return submit(() -> this.queryRow(statement, row, params));
+    }
+
+    /**
+     * Queries a list of rows for their specified statements for a specific list of multiple values on the database executor.
+     *
+     * @param statement - the statement to be executed.
+     * @param rows      - the list of rows being queried.
+     * @param params    - the values bound to the statement placeholders, or null to execute the statement as is.
+     * @return The future completed with the result in as a listed list of strings.
+     */
+    public @Nonnull CompletableFuture<List<HashMap<String, String>>> queryTableDataAsync(final @Nonnull String statement, final @Nonnull String rows, final @Nullable Object... params) {
+        return submit(() -> this.queryTableData(statement, rows, params));
+    }
+
+    /**
+     * Queries multiple rows for a specific value on the database executor.
+     *
+     * @param statement - the statement to be executed.
+     * @param row       - the list of rows being queried.
+     * @return The future completed with the result in as a HashMap.
+     */
+    public @Nonnull CompletableFuture<Map<String, List<Object>>> queryMultipleRowsAsync(final @Nonnull String statement, final @Nonnull String... row) {
+        return submit(() -> this.queryMultipleRows(statement, row));
+    }
+
+    /**
+     * Gets an Executor that runs the completion stages of the async queries on the main thread (global region thread on Folia).
+     * For example {@code queryRowAsync(...).thenAcceptAsync(rows -> ..., Database.sync())}.
+     *
+     * @return The main thread Executor.
+     */
+    public static @Nonnull Executor sync() {
+        return SchedulerUtils::run;
+    }
+
+    /**
+     * Gets an Executor that runs the completion stages of the async queries on the region thread of the player (main thread on Bukkit/Paper).
+     *
+     * @param player - The player whose thread the stages run on.
+     * @return The player thread Executor.
+     */
+    public static @Nonnull Executor sync(final @Nonnull Player player) {
+        return runnable -> SchedulerUtils.runPlayerLater(player, 1L, runnable);
+    }
+
+    /**
+     * Submits a query to the database executor.
+     *
+     * @param query - the query to be run.
+     * @return The future completed with the result of the query, or completed exceptionally if the executor rejected the query.
+     */
+    private static @Nonnull <T> CompletableFuture<T> submit(final @Nonnull Supplier<T> query) {
+        try {
+            return CompletableFuture.supplyAsync(query, getExecutor());
+        } catch (RejectedExecutionException e) {
+            final CompletableFuture<T> future = new CompletableFuture<>();
+            future.completeExceptionally(e);
+            return future;
+        }
+    }
+
+    /**
+     * Gets the bounded executor the async queries run on.
+     * When its queue is full an asynchronous submitting thread runs the query itself, applying back-pressure,
+     * while the main thread (region threads on Folia) is rejected so that it never blocks on the database.
+     *
+     * @return The database executor.
+     */
+    private static synchronized @Nonnull ThreadPoolExecutor getExecutor() {
+        if (executor == null || executor.isShutdown()) {
+            final CoreData coreData = Core.getCore().getData();
+            final int threads = coreData.sqlEnabled() ? coreData.getSQLPoolSize() : 1;
+            final String name = Core.getCore().getPlugin().getName() + "-Database-";
+            final AtomicInteger counter = new AtomicInteger();
+            executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS, new ArrayBlockingQueue<>(coreData.getSQLQueueSize()), runnable -> {
+                final Thread thread = new Thread(runnable, name + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }, (runnable, pool) -> {
+                if (pool.isShutdown() || Bukkit.isPrimaryThread()) {
+                    throw new RejectedExecutionException("{SQL} The database queue is full, " + pool.getQueue().size() + " queued database task(s).");
+                }
+                runnable.run();
+            });
+            executor.allowCoreThreadTimeOut(true);
+        }
+        return executor;
+    }
+
+    /**
+     * Stops the database executor, waiting for the submitted queries to finish.
+     */
+    private static synchronized void shutdownExecutor() {
+        if (executor != null) {
+            executor.shutdown();
+            try {
+                if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                    ServerUtils.logSevere("{SQL} Timed out waiting for " + executor.getQueue().size() + " queued database task(s) to finish.");
+                    executor.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                executor.shutdownNow();
+            }
+            executor = null;
+        }
+    }
+
     /**
      * Checks if the column exists in the database.
      *
@@ -293,7 +585,7 @@ public class Database extends Controller {
         ResultSet rs = null;
         boolean columnExists = false;
         try {
-            final Object[] executed = executeStatement(statement, true);
+            final Object[] executed = this.execute(statement, true, null);
             conn = (Connection) executed[0];
             ps = (Statement) executed[1];
             rs = (ResultSet) executed[2];
@@ -355,12 +647,23 @@ public class Database extends Controller {
      * @return If the data exists.
      */
     public boolean dataExists(final @Nonnull String statement) {
+        return this.dataExists(statement, (Object[]) null);
+    }
+
+    /**
+     * Checks if the specific data set exists in the database using a prepared statement.
+     *
+     * @param statement - the statement to be executed.
+     * @param params    - the values bound to the statement placeholders, or null to execute the statement as is.
+     * @return If the data exists.
+     */
+    public boolean dataExists(final @Nonnull String statement, final @Nullable Object... params) {
         Connection conn = null;
         Statement ps = null;
         ResultSet rs = null;
         boolean dataExists = false;
         try {
-            final Object[] executed = executeStatement(statement, true);
+            final Object[] executed = this.execute(statement, true, params);
             conn = (Connection) executed[0];
             ps = (Statement) executed[1];
             rs = (ResultSet) executed[2];
@@ -379,24 +682,118 @@ public class Database extends Controller {
         return dataExists;
     }
 
+    /**
+     * Executes the queued mutations inside a single transaction.
+     * Consecutive mutations sharing the same statement are sent as a single JDBC batch.
+     * On SQLite the transaction holds the SQL lock, which every other write on the shared connection also takes.
+     *
+     * @param writes - the mutations to be executed, in order.
+     * @return If the transaction was committed.
+     */
+    boolean executeBatch(final @Nonnull List<BatchQueue.Write> writes) {
+        if (Core.getCore().getData().sqlEnabled()) {
+            return this.writeBatch(writes);
+        }
+        synchronized ("CC_SQL") {
+            return this.writeBatch(writes);
+        }
+    }
+
+    /**
+     * Executes the queued mutations inside a single transaction on a single connection.
+     *
+     * @param writes - the mutations to be executed, in order.
+     * @return If the transaction was committed.
+     */
+    private boolean writeBatch(final @Nonnull List<BatchQueue.Write> writes) {
+        Connection conn = null;
+        try {
+            conn = this.getConnection();
+            conn.setAutoCommit(false);
+            int index = 0;
+            while (index < writes.size()) {
+                final BatchQueue.Write first = writes.get(index);
+                final Statement ps = first.params != null ? this.getStatements(conn).acquire(first.statement) : conn.createStatement();
+                try {
+                    while (index < writes.size()) {
+                        final BatchQueue.Write write = writes.get(index);
+                        if (!write.statement.equals(first.statement) || (write.params != null) != (first.params != null)) {
+                            break;
+                        }
+                        if (write.params != null) {
+                            final PreparedStatement prepared = (PreparedStatement) ps;
+                            for (int i = 0; i < write.params.length; i++) {
+                                prepared.setObject(i + 1, write.params[i]);
+                            }
+                            prepared.addBatch();
+                        } else {
+                            ps.addBatch(write.statement);
+                        }
+                        index++;
+                    }
+                    ps.executeBatch();
+                } finally {
+                    this.closeStatement(ps, conn, false);
+                }
+            }
+            conn.commit();
+            return true;
+        } catch (Exception e) {
+            ServerUtils.logDebug("{SQL} [7] Failed to execute a batch of " + writes.size() + " database statement(s), rolling back.");
+            ServerUtils.sendDebugTrace(e);
+            if (conn != null) {
+                try {
+                    conn.rollback();
+                } catch (Exception e2) {
+                    ServerUtils.logSevere("{SQL} [7] Failed to roll back the database transaction.");
+                }
+            }
+            return false;
+        } finally {
+            if (conn != null) {
+                try {
+                    conn.setAutoCommit(true);
+                } catch (Exception e) {
+                    ServerUtils.sendDebugTrace(e);
+                }
+            }
+            this.close(null, null, conn, false);
+        }
+    }
+
     /**
      * Attempts to execute a SQL statement with retry logic for failed connections.
+     * When parameters are given the statement is prepared through the connection's statement cache.
      *
      * @param statement - the SQL statement to be executed.
      * @param isQuery   - whether the statement is a query (select) or update.
+     * @param params    - the values bound to the statement placeholders, or null to execute the statement as is.
      * @return An array containing the Connection, Statement, and ResultSet (if applicable).
      */
-    private Object[] executeStatement(final @Nonnull String statement, final boolean isQuery, final boolean...retry) {
+    private Object[] execute(final @Nonnull String statement, final boolean isQuery, final @Nullable Object[] params, final boolean...retry) {
         Connection conn = null;
         Statement ps = null;
         ResultSet rs = null;
         try {
-            conn = this.getConnection(retry.length > 0 && retry[0]);
-            ps = conn.createStatement();
-            if (isQuery) {
-                rs = ps.executeQuery(statement);
+            conn = isQuery ? this.getReadConnection(retry.length > 0 && retry[0]) : this.getConnection(retry.length > 0 && retry[0]);
+            if (params != null) {
+                final PreparedStatement prepared = this.getStatements(conn).acquire(statement);
+                ps = prepared;
+                for (int i = 0; i < params.length; i++) {
+                    prepared.setObject(i + 1, params[i]);
+                }
+                if (isQuery) {
+                    rs = prepared.executeQuery();
+                } else {
+                    prepared.executeUpdate();
+                }
             } else {
-                ps.executeUpdate(statement);
+                ps = conn.createStatement();
+                if (isQuery) {
+                    rs = ps.executeQuery(statement);
+                } else {
+                    ps.executeUpdate(statement);
+                }
             }
             return new Object[] { conn, ps, rs };
         } catch (SQLException e) {
@@ -405,12 +802,14 @@ public class Database extends Controller {
                 ServerUtils.logDebug("{SQL} Attempting to restart database connection and retry...");
                 if (retry.length == 0) {
                     this.close(ps, rs, conn, true);
-                    return executeStatement(statement, isQuery, true);
+                    return this.execute(statement, isQuery, params, true);
                 } else {
+                    this.close(ps, rs, conn, true);
                     ServerUtils.logSevere("{SQL} [Retry] An attempt was made to restart the connection but failed, this is likely a connection issue!");
                     throw new IllegalStateException("{SQL} [Retry] Failed to execute statement: " + statement);
                 }
             } else {
+                this.close(ps, rs, conn, false);
                 throw new IllegalStateException("{SQL} Failed to execute statement: " + statement, e);
             }
         }
@@ -420,7 +819,49 @@ public class Database extends Controller {
      * Closes the active database connection.
      */
     public void closeConnection(final boolean force) {
+        if (force) {
+            synchronized ("CC_SQL_READ") {
+                if (this.readStatements != null) {
+                    this.readStatements.close();
+                    this.readStatements = null;
+                }
+                this.close(null, null, this.readConnection, true);
+                this.readConnection = null;
+            }
+            synchronized ("CC_SQL") {
+                if (this.checkpointTask != 0) {
+                    SchedulerUtils.cancelTask(this.checkpointTask);
+                    this.checkpointTask = 0;
+                }
+                this.checkpoint("TRUNCATE");
+            }
+        }
         this.close(null, null, this.connection, force);
+        synchronized ("CC_SQL") {
+            if (this.statements != null && force) {
+                this.statements.close();
+                this.statements = null;
+            }
+            if (this.pool != null && force) {
+                this.pool.shutdown();
+                this.pool = null;
+            }
+        }
+    }
+
+    /**
+     * Maps the current row of a ResultSet to an object.
+     */
+    @FunctionalInterface
+    public interface RowMapper<T> {
+
+        /**
+         * Maps the current row, the ResultSet must not be advanced.
+         *
+         * @param rs - the ResultSet positioned on the row being mapped.
+         * @return The mapped row.
+         */
+        @Nullable T map(final @Nonnull ResultSet rs) throws SQLException;
     }
 }
 
@@ -430,82 +871,281 @@ public class Database extends Controller {
  */
 abstract class Controller {
     protected Connection connection;
+    protected volatile Connection readConnection;
+    protected volatile ConnectionPool pool;
+    protected volatile StatementCache statements;
+    protected volatile StatementCache readStatements;
+    protected int checkpointTask = 0;
     protected String dataFolder;
 
     /**
      * Gets the proper SQL connection.
+     * MySQL connections are borrowed from the connection pool and must be handed back through {@link #close(Statement, ResultSet, Connection, boolean)}.
      *
      * @return The SQL connection.
      */
     protected @Nonnull Connection getConnection(final boolean...force) throws SQLException {
+        if (Core.getCore().getData().sqlEnabled()) {
+            return this.getPool(force.length > 0 && force[0]).borrow();
+        }
         synchronized ("CC_SQL") {
             if (this.isClosed(this.connection) || (force.length > 0 && force[0])) {
                 if (!Core.getCore().getPlugin().isEnabled()) {
                     throw new SQLException("{SQL} Plugin is disabling, aborting connection.");
                 }
                 ServerUtils.logDebug("{SQL} Connection was detected as being closed, initializing... isClosed: " + this.connection + " " + (this.connection == null || this.connection.isClosed()) + " forced: " + (force.length > 0 && force[0]));
-                if (Core.getCore().getData().sqlEnabled()) {
-                    ServerUtils.logDebug("{SQL} Detected MySQL configuration, setting up!");
-                    try {
-                        final CoreData data = Core.getCore().getData();
-                        final String database = jdbc(data, true);
-                        Class<?> driverClass;
-                        try {
-                            driverClass = ReflectionUtils.getCanonicalClass("com.mysql.cj.jdbc.Driver");
-                        } catch (Exception e) {
-                            driverClass = ReflectionUtils.getCanonicalClass("com.mysql.jdbc.Driver");
-                        }
-                        final Driver driver = (Driver) ReflectionUtils.getConstructor(driverClass).invoke();
-                        ServerUtils.logInfo("Loading SQL driver: " + driver.getMajorVersion() + "." + driver.getMinorVersion() + " (" + driverClass.getName() + ")");
-                        long start = System.nanoTime();
-                        try {
-                            this.connection = DriverManager.getConnection(database, data.getSQLUser(), data.getSQLPass());
-                            try (Statement statement = this.connection.createStatement()) {
-                                statement.executeUpdate("SET NAMES 'utf8'");
-                            }
-                        } catch (Exception e) {
-                            if (StringUtils.containsIgnoreCase(e.getMessage(), "unknown database")) {
-                                Statement ps = null;
-                                try {
-                                    final String newDatabase = jdbc(data, false);
-                                    this.connection = DriverManager.getConnection(newDatabase, data.getSQLUser(), data.getSQLPass());
-                                    ps = this.connection.createStatement();
-                                    ps.executeUpdate("CREATE DATABASE IF NOT EXISTS " + data.getSQLDatabase() + ";");
-                                } catch (Exception e2) {
-                                    ServerUtils.logSevere("{SQL} [1] Failed to create the database, please manually create the database defined in your config.yml Database settings.");
-                                    ServerUtils.sendSevereTrace(e);
-                                } finally {
-                                    this.close(ps, null, this.connection, true);
-                                }
-                                return this.getConnection();
+                try {
+                    ServerUtils.logDebug("{SQL} Detected SQLite configuration, setting up!");
+                    final File dataFolder = new File(Core.getCore().getPlugin().getDataFolder(), this.dataFolder + ".db");
+                    {
+                        final String database = "jdbc:sqlite:" + dataFolder.getAbsolutePath();
+                        ReflectionUtils.getCanonicalClass("org.sqlite.JDBC");
+                        this.connection = DriverManager.getConnection(database);
+                    }
+                    this.configure(this.connection, false);
+                    if (this.checkpointTask == 0 && Core.getCore().getData().getSQLiteCheckpointInterval() > 0) {
+                        final long interval = Core.getCore().getData().getSQLiteCheckpointInterval();
+                        this.checkpointTask = SchedulerUtils.runAsyncAtInterval(interval, interval, () -> {
+                            synchronized ("CC_SQL") {
+                                this.checkpoint("PASSIVE");
                             }
-                        }
-                        long end = System.nanoTime();
-                        double durationMs = (end - start) / 1_000_000.0;
-                        ServerUtils.logInfo(String.format("Connected to MySQL database successfully (%.1f ms).", durationMs));
-                    } catch (Exception e) {
-                        ServerUtils.logSevere("{SQL} Unable to connect to the defined MySQL database, check your settings.");
-                        ServerUtils.sendSevereTrace(e);
+                        });
                     }
-                } else {
+                } catch (Exception e) {
+                    ServerUtils.logSevere("{SQL} SQLite exception on initialize.");
+                    ServerUtils.sendSevereTrace(e);
+                }
+            }
+            return this.connection;
+        }
+    }
+
+    /**
+     * Gets the SQL connection used for queries.
+     * SQLite queries run on a separate read-only connection so that they are not held behind writes,
+     * MySQL queries borrow from the connection pool like any other statement.
+     *
+     * @param force - If the read-only connection should be reopened, used when a connection failure was detected.
+     * @return The SQL connection used for queries.
+     */
+    protected @Nonnull Connection getReadConnection(final boolean...force) throws SQLException {
+        if (Core.getCore().getData().sqlEnabled()) {
+            return this.getConnection(force);
+        }
+        final Connection writer = this.getConnection();
+        final Connection current = this.readConnection;
+        if (!this.isClosed(current) && !(force.length > 0 && force[0])) {
+            return current;
+        }
+        synchronized ("CC_SQL_READ") {
+            if (this.isClosed(this.readConnection) || (force.length > 0 && force[0])) {
+                this.close(null, null, this.readConnection, true);
+                try {
+                    final File dataFolder = new File(Core.getCore().getPlugin().getDataFolder(), this.dataFolder + ".db");
+                    final Properties properties = new Properties();
+                    properties.setProperty("open_mode", "1");
+                    final Connection reader = DriverManager.getConnection("jdbc:sqlite:" + dataFolder.getAbsolutePath(), properties);
+                    this.configure(reader, true);
+                    this.readConnection = reader;
+                } catch (SQLException e) {
+                    ServerUtils.logDebug("{SQL} Unable to open the read-only SQLite connection, queries will share the write connection: " + e.getMessage());
+                    this.readConnection = null;
+                    return writer;
+                }
+            }
+            return this.readConnection;
+        }
+    }
+
+    /**
+     * Applies the SQLite pragmas to a newly opened connection.
+     * The write connection switches the database to write-ahead logging, which lets the read-only connection query while writes are in progress,
+     * and only syncs the log on checkpoint instead of on every commit.
+     *
+     * @param conn     - The SQLite connection being configured.
+     * @param readOnly - If the connection is the read-only connection.
+     */
+    private void configure(final @Nonnull Connection conn, final boolean readOnly) {
+        final CoreData data = Core.getCore().getData();
+        try (Statement statement = conn.createStatement()) {
+            statement.execute("PRAGMA busy_timeout=" + data.getSQLiteBusyTimeout());
+            if (!readOnly) {
+                try (ResultSet rs = statement.executeQuery("PRAGMA journal_mode=WAL")) {
+                    final String mode = rs.next() ? rs.getString(1) : null;
+                    if (!"wal".equalsIgnoreCase(mode)) {
+                        ServerUtils.logDebug("{SQL} SQLite refused write-ahead logging, the journal mode remains " + mode + ".");
+                    }
+                }
+                statement.execute("PRAGMA synchronous=NORMAL");
+                statement.execute("PRAGMA temp_store=MEMORY");
+            }
+            statement.execute("PRAGMA cache_size=-" + data.getSQLiteCacheSize());
+            statement.execute("PRAGMA mmap_size=" + data.getSQLiteMmapSize());
+        } catch (SQLException e) {
+            ServerUtils.logDebug("{SQL} Failed to apply the SQLite pragmas: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Copies the SQLite write-ahead log into the database file.
+     * Must be called while holding the SQL lock so that a checkpoint never runs inside a batch transaction.
+     *
+     * @param mode - The checkpoint mode, PASSIVE never waits on readers or writers while TRUNCATE also empties the log.
+     */
+    protected void checkpoint(final @Nonnull String mode) {
+        if (Core.getCore().getData().sqlEnabled() || this.isClosed(this.connection)) {
+            return;
+        }
+        try (Statement statement = this.connection.createStatement()) {
+            statement.execute("PRAGMA wal_checkpoint(" + mode + ")");
+        } catch (SQLException e) {
+            ServerUtils.logDebug("{SQL} Failed to checkpoint the SQLite write-ahead log: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Gets the MySQL connection pool, creating it and loading the driver if necessary.
+     *
+     * @param force - If the idle connections should be discarded, used when a connection failure was detected.
+     * @return The MySQL connection pool.
+     */
+    private @Nonnull ConnectionPool getPool(final boolean force) throws SQLException {
+        final ConnectionPool current = this.pool;
+        if (current != null && !force) {
+            return current;
+        }
+        synchronized ("CC_SQL") {
+            if (this.pool == null) {
+                if (!Core.getCore().getPlugin().isEnabled()) {
+                    throw new SQLException("{SQL} Plugin is disabling, aborting connection.");
+                }
+                ServerUtils.logDebug("{SQL} Detected MySQL configuration, setting up!");
+                final CoreData data = Core.getCore().getData();
+                try {
+                    Class<?> driverClass;
                     try {
-                        ServerUtils.logDebug("{SQL} Detected SQLite configuration, setting up!");
-                        final File dataFolder = new File(Core.getCore().getPlugin().getDataFolder(), this.dataFolder + ".db");
-                        {
-                            final String database = "jdbc:sqlite:" + dataFolder.getAbsolutePath();
-                            ReflectionUtils.getCanonicalClass("org.sqlite.JDBC");
-                            this.connection = DriverManager.getConnection(database);
-                        }
+                        driverClass = ReflectionUtils.getCanonicalClass("com.mysql.cj.jdbc.Driver");
                     } catch (Exception e) {
-                        ServerUtils.logSevere("{SQL} SQLite exception on initialize.");
-                        ServerUtils.sendSevereTrace(e);
+                        driverClass = ReflectionUtils.getCanonicalClass("com.mysql.jdbc.Driver");
                     }
+                    final Driver driver = (Driver) ReflectionUtils.getConstructor(driverClass).invoke();
+                    ServerUtils.logInfo("Loading SQL driver: " + driver.getMajorVersion() + "." + driver.getMinorVersion() + " (" + driverClass.getName() + ")");
+                } catch (Exception e) {
+                    ServerUtils.logSevere("{SQL} Unable to load the MySQL driver.");
+                    ServerUtils.sendSevereTrace(e);
+                }
+                this.pool = new ConnectionPool(this::openConnection, data.getSQLPoolSize(), data.getSQLPoolValidation(), data.getSQLPoolLifetime());
+                final long start = System.nanoTime();
+                try {
+                    this.pool.release(this.pool.borrow());
+                    double durationMs = (System.nanoTime() - start) / 1_000_000.0;
+                    ServerUtils.logInfo(String.format("Connected to MySQL database successfully (%.1f ms).", durationMs));
+                } catch (SQLException e) {
+                    ServerUtils.logSevere("{SQL} Unable to connect to the defined MySQL database, check your settings.");
+                    ServerUtils.sendSevereTrace(e);
                 }
+            } else if (force) {
+                ServerUtils.logDebug("{SQL} Connection failure was detected, discarding idle pooled connections.");
+                this.pool.evictIdle();
             }
-            return this.connection;
+            return this.pool;
+        }
+    }
+
+    /**
+     * Opens a new MySQL connection for the connection pool.
+     * Creates the configured database if it does not yet exist.
+     *
+     * @return The newly opened MySQL connection.
+     */
+    private @Nonnull Connection openConnection() throws SQLException {
+        if (!Core.getCore().getPlugin().isEnabled()) {
+            throw new SQLException("{SQL} Plugin is disabling, aborting connection.");
+        }
+        final CoreData data = Core.getCore().getData();
+        Connection conn;
+        try {
+            conn = DriverManager.getConnection(jdbc(data, true), data.getSQLUser(), data.getSQLPass());
+        } catch (SQLException e) {
+            if (!StringUtils.containsIgnoreCase(e.getMessage(), "unknown database")) {
+                throw e;
+            }
+            Connection newConn = null;
+            Statement ps = null;
+            try {
+                newConn = DriverManager.getConnection(jdbc(data, false), data.getSQLUser(), data.getSQLPass());
+                ps = newConn.createStatement();
+                ps.executeUpdate("CREATE DATABASE IF NOT EXISTS " + data.getSQLDatabase() + ";");
+            } catch (Exception e2) {
+                ServerUtils.logSevere("{SQL} [1] Failed to create the database, please manually create the database defined in your config.yml Database settings.");
+                ServerUtils.sendSevereTrace(e);
+            } finally {
+                this.close(ps, null, newConn, true);
+            }
+            conn = DriverManager.getConnection(jdbc(data, true), data.getSQLUser(), data.getSQLPass());
+        }
+        try (Statement statement = conn.createStatement()) {
+            statement.executeUpdate("SET NAMES 'utf8'");
+        }
+        return conn;
+    }
+
+    /**
+     * Gets the PreparedStatement cache for the specified connection.
+     *
+     * @param conn - The connection the statements are prepared on.
+     * @return The PreparedStatement cache of the connection.
+     */
+    protected @Nonnull StatementCache getStatements(final @Nonnull Connection conn) {
+        final ConnectionPool pool = this.pool;
+        final StatementCache pooled = pool != null ? pool.getStatements(conn) : null;
+        if (pooled != null) {
+            return pooled;
+        }
+        if (conn == this.readConnection) {
+            synchronized ("CC_SQL_READ") {
+                if (this.readStatements == null || this.readStatements.getConnection() != conn) {
+                    if (this.readStatements != null) {
+                        this.readStatements.close();
+                    }
+                    this.readStatements = new StatementCache(conn, StatementCache.DEFAULT_SIZE);
+                }
+                return this.readStatements;
+            }
+        }
+        synchronized ("CC_SQL") {
+            if (this.statements == null || this.statements.getConnection() != conn) {
+                if (this.statements != null) {
+                    this.statements.close();
+                }
+                this.statements = new StatementCache(conn, StatementCache.DEFAULT_SIZE);
+            }
+            return this.statements;
         }
     }
 
+    /**
+     * Hands a PreparedStatement back to the statement cache it was checked out from.
+     *
+     * @param ps    - The PreparedStatement being handed back.
+     * @param conn  - The connection the statement was prepared on.
+     * @param force - If the statement should be closed instead of reused.
+     * @return If the PreparedStatement belonged to a statement cache.
+     */
+    private boolean releaseStatement(final @Nonnull PreparedStatement ps, final @Nonnull Connection conn, final boolean force) {
+        final ConnectionPool pool = this.pool;
+        StatementCache statements = pool != null ? pool.getStatements(conn) : null;
+        if (statements == null && this.statements != null && this.statements.getConnection() == conn) {
+            statements = this.statements;
+        } else if (statements == null && this.readStatements != null && this.readStatements.getConnection() == conn) {
+            statements = this.readStatements;
+        }
+        if (statements == null) {
+            return false;
+        }
+        return force ? statements.discard(ps) : statements.release(ps);
+    }
+
     /**
      * Constructs a MySQL JDBC connection URL using the provided {@link CoreData} configuration.
      *
@@ -585,23 +1225,46 @@ abstract class Controller {
         return false;
     }
 
+    /**
+     * Closes the specified statement, handing cached PreparedStatements back to their cache.
+     *
+     * @param ps    - the Statement being closed.
+     * @param conn  - the Connection the statement belongs to.
+     * @param force - If cached PreparedStatements should be closed instead of reused.
+     */
+    protected void closeStatement(final @Nullable Statement ps, final @Nullable Connection conn, final boolean force) {
+        try {
+            if (ps != null && !this.isClosed(ps) && !(ps instanceof PreparedStatement && conn != null && this.releaseStatement((PreparedStatement) ps, conn, force))) {
+                ps.close();
+            }
+        } catch (SQLException e) {
+            ServerUtils.logSevere("{SQL} [10] Failed to close database statement.");
+            ServerUtils.sendDebugTrace(e);
+        }
+    }
+
     /**
      * Closes the specified connections.
      *
-     * @param ps    - the PreparedStatement being closed.
+     * @param ps    - the Statement being closed, cached PreparedStatements are handed back to their cache.
      * @param rs    - the ResultSet being closed.
-     * @param conn  - the Connection being closed.
+     * @param conn  - the Connection being closed, pooled connections are returned to the pool.
      * @param force - If the connection should be forced to close.
      */
     protected void close(final @Nullable Statement ps, final @Nullable ResultSet rs, final @Nullable Connection conn, final boolean force) {
         try {
-            if (ps != null && !this.isClosed(ps)) {
-                ps.close();
-            }
             if (rs != null && !this.isClosed(rs)) {
                 rs.close();
             }
-            if (conn != null && !this.isClosed(conn) && force) {
+            this.closeStatement(ps, conn, force);
+            final ConnectionPool pool = this.pool;
+            if (pool != null && pool.owns(conn)) {
+                if (force) {
+                    pool.invalidate(conn);
+                } else {
+                    pool.release(conn);
+                }
+            } else if (conn != null && !this.isClosed(conn) && force) {
                 try {
                     conn.close();
                 } catch (SQLException e) {
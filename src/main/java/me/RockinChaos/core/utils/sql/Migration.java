@@ -0,0 +1,80 @@
+/*
+ * ChaosCore
+ * Copyright (C) CraftationGaming <https://www.craftationgaming.com/>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package me.RockinChaos.core.utils.sql;
+
+import javax.annotation.Nonnull;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A single versioned step of the database schema.
+ * Migrations are registered through {@link me.RockinChaos.core.CoreData#addMigrations(Migration...)} and are applied once, in order of their version,
+ * the applied versions being recorded in the schema history table.
+ * <p>
+ * Statements may use the {@code %prefix%} placeholder, which is replaced by the configured table prefix.
+ */
+@SuppressWarnings("unused")
+public class Migration {
+    private final int version;
+    private final String description;
+    private final List<String> statements;
+
+    /**
+     * Creates a new Migration.
+     *
+     * @param version     - The version of the schema once the migration is applied, must be unique and greater than zero.
+     * @param description - A short description of the migration, recorded in the schema history.
+     * @param statements  - The DDL statements executed by the migration, in order.
+     */
+    public Migration(final int version, final @Nonnull String description, final @Nonnull String... statements) {
+        if (version <= 0) {
+            throw new IllegalArgumentException("{SQL} The migration version must be greater than zero, found " + version + ".");
+        }
+        this.version = version;
+        this.description = description;
+        this.statements = Collections.unmodifiableList(Arrays.asList(statements));
+    }
+
+    /**
+     * Gets the version of the schema once the migration is applied.
+     *
+     * @return The migration version.
+     */
+    public int getVersion() {
+        return this.version;
+    }
+
+    /**
+     * Gets the description of the migration.
+     *
+     * @return The migration description.
+     */
+    public @Nonnull String getDescription() {
+        return this.description;
+    }
+
+    /**
+     * Gets the DDL statements executed by the migration.
+     *
+     * @return The migration statements, in order.
+     */
+    public @Nonnull List<String> getStatements() {
+        return this.statements;
+    }
+}
@@ -20,17 +20,21 @@ package me.RockinChaos.core.utils.sql;
 import me.RockinChaos.core.Core;
 import me.RockinChaos.core.utils.SchedulerUtils;
 import me.RockinChaos.core.utils.ServerUtils;
+import me.RockinChaos.core.utils.StartupProfiler;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
 
 @SuppressWarnings("unused")
 public class SQL {
 
+    private static final Pattern NUMERIC = Pattern.compile("[-+]?(\\d+\\.?\\d*|\\.\\d+)([eE][-+]?\\d+)?");
     private static SQL data;
     private static boolean initialized = false;
-    private Map<String, List<Object>> databaseData = new HashMap<>();
+    private volatile Map<String, TableCache> databaseData = new ConcurrentHashMap<>();
 
     /**
      * Creates a new SQLData instance.
@@ -54,7 +58,7 @@ public class SQL {
      */
     public static @Nonnull SQL getSQL() {
         if (data == null) {
-            data = new SQL();
+            data = StartupProfiler.time("SQL", SQL::new);
         }
         return data;
     }
@@ -71,6 +75,7 @@ public class SQL {
      */
     public void purgeDatabase() {
         SchedulerUtils.runSingleAsync(() -> {
+            BatchQueue.getQueue().flush();
             for (String table : Core.getCore().getData().getDatabaseData().keySet()) {
                 synchronized ("CC_SQL") {
                     if (Database.getDatabase().tableExists(Core.getCore().getData().getTablePrefix() + table)) {
@@ -89,29 +94,15 @@ public class SQL {
      */
     public void saveData(final @Nonnull Object object) {
         try {
-            final String tableName = (String) object.getClass().getMethod("getTableName").invoke(object);
-            final String tableHeaders = (String) object.getClass().getMethod("getTableHeaders").invoke(object);
-            final String tableInserts = (String) object.getClass().getMethod("getInsertValues").invoke(object);
-            if (Core.getCore().getPlugin().isEnabled()) {
-                SchedulerUtils.runSingleAsync(() -> {
-                    synchronized ("CC_SQL") {
-                        Database.getDatabase().executeStatement("INSERT INTO " + Core.getCore().getData().getTablePrefix() + tableName + " (" + tableHeaders + ") VALUES (" + tableInserts + ")");
-                    }
-                });
-            } else {
-                synchronized ("CC_SQL") {
-                    Database.getDatabase().executeStatement("INSERT INTO " + Core.getCore().getData().getTablePrefix() + tableName + " (" + tableHeaders + ") VALUES (" + tableInserts + ")");
-                }
-            }
-            if (this.databaseData.get(tableName) != null) {
-                final List<Object> h1 = this.databaseData.get(tableName);
-                h1.add(object);
-                this.databaseData.put(tableName, h1);
-            } else {
-                final List<Object> h1 = new ArrayList<>();
-                h1.add(object);
-                this.databaseData.put(tableName, h1);
-            }
+            final DataAccessor accessor = DataAccessor.of(object);
+            final String tableName = accessor.getTableName(object);
+            final String tableHeaders = accessor.getTableHeaders(object);
+            final String tableInserts = accessor.getInsertValues(object);
+            final Object[] objectParams = accessor.getInsertParameters(object);
+            final Object[] insertParams = objectParams != null ? objectParams : toParameters(tableInserts);
+            final String statement = "INSERT INTO " + Core.getCore().getData().getTablePrefix() + tableName + " (" + tableHeaders + ") VALUES (" + (insertParams != null ? toPlaceholders(insertParams.length) : tableInserts) + ")";
+            BatchQueue.getQueue().enqueue(tableName, statement, insertParams);
+            this.databaseData.computeIfAbsent(tableName, table -> new TableCache()).add(object);
         } catch (Exception e) {
             ServerUtils.sendSevereTrace(e);
         }
@@ -125,30 +116,25 @@ public class SQL {
      */
     public void removeData(final @Nonnull Object object, final @Nullable boolean... ignoreValues) {
         try {
-            final String tableName = (String) object.getClass().getMethod("getTableName").invoke(object);
-            if (this.databaseData.get(tableName) != null && !this.databaseData.get(tableName).isEmpty()) {
-                final Iterator<Object> dataSet = this.databaseData.get(tableName).iterator();
-                while (dataSet.hasNext()) {
-                    final Object dataObject = dataSet.next();
-                    final String dataSetName = (String) dataObject.getClass().getMethod("getTableName").invoke(dataObject);
-                    final String tableRemoval = (String) dataObject.getClass().getMethod("getTableRemoval").invoke(dataObject);
-                    final String tableRemovals = (String) dataObject.getClass().getMethod("getRemovalValues").invoke(dataObject);
+            final DataAccessor accessor = DataAccessor.of(object);
+            final String tableName = accessor.getTableName(object);
+            final TableCache table = this.databaseData.get(tableName);
+            if (table != null && !table.isEmpty()) {
+                final boolean requireData = ignoreValues == null || ignoreValues.length == 0 || !ignoreValues[0];
+                for (final Object dataObject : (requireData ? candidates(accessor, tableName, table, object) : table.rows())) {
+                    final DataAccessor dataAccessor = DataAccessor.of(dataObject);
+                    final String dataSetName = dataAccessor.getTableName(dataObject);
+                    final String tableRemoval = dataAccessor.getTableRemoval(dataObject);
+                    final String tableRemovals = dataAccessor.getRemovalValues(dataObject);
                     if (tableName.equals(dataSetName)) {
-                        final Boolean equalsDate = (Boolean) object.getClass().getMethod("equalsData", Object.class, Object.class).invoke(object, object, dataObject);
-                        final boolean requireData = ignoreValues == null || ignoreValues.length == 0 || !ignoreValues[0];
+                        final boolean equalsDate = accessor.equalsData(object, dataObject);
                         if (equalsDate || !requireData) {
-                            if (Core.getCore().getPlugin().isEnabled()) {
-                                SchedulerUtils.runSingleAsync(() -> {
-                                    synchronized ("CC_SQL") {
-                                        Database.getDatabase().executeStatement("DELETE FROM " + Core.getCore().getData().getTablePrefix() + dataSetName + (requireData ? " WHERE (" + tableRemoval + ") = (" + tableRemovals + ")" : ""));
-                                    }
-                                });
-                            } else {
-                                synchronized ("CC_SQL") {
-                                    Database.getDatabase().executeStatement("DELETE FROM " + Core.getCore().getData().getTablePrefix() + dataSetName + (requireData ? " WHERE (" + tableRemoval + ") = (" + tableRemovals + ")" : ""));
-                                }
+                            final Object[] objectParams = requireData ? dataAccessor.getRemovalParameters(dataObject) : null;
+                            final Object[] removalParams = requireData ? (objectParams != null ? objectParams : toParameters(tableRemovals)) : new Object[0];
+                            final String statement = "DELETE FROM " + Core.getCore().getData().getTablePrefix() + dataSetName + (requireData ? " WHERE (" + tableRemoval + ") = (" + (removalParams != null ? toPlaceholders(removalParams.length) : tableRemovals) + ")" : "");
+                            if (table.remove(dataObject)) {
+                                BatchQueue.getQueue().enqueue(dataSetName, statement, removalParams);
                             }
-                            dataSet.remove();
                         }
                     }
                 }
@@ -166,12 +152,13 @@ public class SQL {
      */
     public @Nullable Object getData(final @Nonnull Object object) {
         try {
-            final String tableName = (String) object.getClass().getMethod("getTableName").invoke(object);
-            if (this.databaseData.get(tableName) != null && !this.databaseData.get(tableName).isEmpty()) {
-                for (Object dataObject : this.databaseData.get(tableName)) {
-                    final String dataSetName = (String) dataObject.getClass().getMethod("getTableName").invoke(dataObject);
-                    final Boolean equalsData = (Boolean) object.getClass().getMethod("equalsData", Object.class, Object.class).invoke(object, object, dataObject);
-                    if (dataSetName.equals(tableName) && equalsData) {
+            final DataAccessor accessor = DataAccessor.of(object);
+            final String tableName = accessor.getTableName(object);
+            final TableCache table = this.databaseData.get(tableName);
+            if (table != null && !table.isEmpty()) {
+                for (Object dataObject : candidates(accessor, tableName, table, object)) {
+                    final String dataSetName = DataAccessor.of(dataObject).getTableName(dataObject);
+                    if (dataSetName.equals(tableName) && accessor.equalsData(object, dataObject)) {
                         return dataObject;
                     }
                 }
@@ -191,13 +178,14 @@ public class SQL {
     public @Nonnull List<Object> getDataList(final @Nonnull Object object) {
         final List<Object> dataList = new ArrayList<>();
         try {
-            final String tableName = (String) object.getClass().getMethod("getTableName").invoke(object);
-            if (this.databaseData.get(tableName) != null && !this.databaseData.get(tableName).isEmpty()) {
-                for (Object dataObject : this.databaseData.get(tableName)) {
-                    final Boolean isTemporary = (Boolean) object.getClass().getMethod("isTemporary").invoke(object);
-                    final String dataSetName = (String) dataObject.getClass().getMethod("getTableName").invoke(dataObject);
-                    final Boolean equalsDate = (Boolean) object.getClass().getMethod("equalsData", Object.class, Object.class).invoke(object, object, dataObject);
-                    if (dataSetName.equals(tableName) && (isTemporary || equalsDate)) {
+            final DataAccessor accessor = DataAccessor.of(object);
+            final String tableName = accessor.getTableName(object);
+            final TableCache table = this.databaseData.get(tableName);
+            if (table != null && !table.isEmpty()) {
+                final boolean isTemporary = accessor.isTemporary(object);
+                for (Object dataObject : table.rows()) {
+                    final String dataSetName = DataAccessor.of(dataObject).getTableName(dataObject);
+                    if (dataSetName.equals(tableName) && (isTemporary || accessor.equalsData(object, dataObject))) {
                         dataList.add(dataObject);
                     }
                 }
@@ -208,6 +196,27 @@ public class SQL {
         return dataList;
     }
 
+    /**
+     * Gets the table data list whose accessor returns the specified value.
+     * A secondary index on the accessor is built the first time it is queried and kept up to date afterwards.
+     *
+     * @param tableName - The name of the table being accessed.
+     * @param accessor  - The name of the no-argument method of the data object, such as {@code getPlayerId}.
+     * @param value     - The value the accessor must return.
+     * @return The found table data list.
+     */
+    public @Nonnull List<Object> getDataList(final @Nonnull String tableName, final @Nonnull String accessor, final @Nullable Object value) {
+        try {
+            final TableCache table = this.databaseData.get(tableName);
+            if (table != null && !table.isEmpty()) {
+                return table.lookup(accessor, value);
+            }
+        } catch (Exception e) {
+            ServerUtils.sendSevereTrace(e);
+        }
+        return new ArrayList<>();
+    }
+
     /**
      * Gets the Equal Data of the Object
      *
@@ -215,35 +224,163 @@ public class SQL {
      * @return If the data is equal.
      */
     public boolean hasDataSet(final @Nonnull Object object) {
-        try {
-            final String tableName = (String) object.getClass().getMethod("getTableName").invoke(object);
-            for (Object dataObject : this.databaseData.get(tableName)) {
-                final String dataSetName = (String) dataObject.getClass().getMethod("getTableName").invoke(dataObject);
-                final Boolean equalsDate = (Boolean) object.getClass().getMethod("equalsData", Object.class, Object.class).invoke(object, object, dataObject);
-                if (dataSetName.equals(tableName) && equalsDate) {
-                    return true;
+        return this.getData(object) != null;
+    }
+
+    /**
+     * Gets the rows that may match the data object through {@code equalsData}.
+     * A data object with a complete identity is looked up through the identity index of the table,
+     * every row is returned instead if that bucket holds no match, as {@code equalsData} may compare fewer columns than the identity.
+     *
+     * @param accessor  - The accessor of the data object.
+     * @param tableName - The name of the table being searched.
+     * @param table     - The cached rows of the table.
+     * @param object    - The data object being looked up.
+     * @return The candidate rows.
+     */
+    private static @Nonnull List<Object> candidates(final @Nonnull DataAccessor accessor, final @Nonnull String tableName, final @Nonnull TableCache table, final @Nonnull Object object) {
+        if (hasIdentity(accessor, object)) {
+            final List<Object> bucket = table.find(object);
+            for (final Object dataObject : bucket) {
+                if (tableName.equals(DataAccessor.of(dataObject).getTableName(dataObject)) && accessor.equalsData(object, dataObject)) {
+                    return bucket;
                 }
             }
-        } catch (Exception e) {
-            ServerUtils.sendSevereTrace(e);
         }
-        return false;
+        return table.rows();
+    }
+
+    /**
+     * Checks if the data object identifies a single row, every value of its {@code getRemovalValues} being set.
+     * Only such data objects are looked up through the identity index of the table,
+     * partial lookups are matched against every row through {@code equalsData}.
+     *
+     * @param accessor - The accessor of the data object.
+     * @param object   - The data object being looked up.
+     * @return If the data object has a complete identity.
+     */
+    private static boolean hasIdentity(final @Nonnull DataAccessor accessor, final @Nonnull Object object) {
+        final Object[] objectParams = accessor.getRemovalParameters(object);
+        final Object[] identity = objectParams != null ? objectParams : toParameters(accessor.getRemovalValues(object));
+        if (identity == null || identity.length == 0) {
+            return false;
+        }
+        for (final Object value : identity) {
+            if (value == null || value.toString().trim().isEmpty() || value.toString().equalsIgnoreCase("null")) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Converts a SQL value list such as {@code 'uuid', 'name', 5, NULL} into statement parameters.
+     * Quoted values are bound as strings, unquoted numbers as numbers and NULL as null.
+     * MySQL interprets backslash escapes within quoted values, such values are left to the concatenated statement.
+     *
+     * @param values - The SQL value list provided by a data object.
+     * @return The statement parameters, or null if the list contains an expression that cannot be bound as a parameter.
+     */
+    static @Nullable Object[] toParameters(final @Nonnull String values) {
+        final boolean backslashEscapes = Core.getCore().getData().sqlEnabled();
+        final List<Object> parameters = new ArrayList<>();
+        final StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        boolean literal = false;
+        for (int i = 0; i < values.length(); i++) {
+            final char c = values.charAt(i);
+            if (quoted) {
+                if (c == '\\' && backslashEscapes) {
+                    return null;
+                } else if (c == '\'' && i + 1 < values.length() && values.charAt(i + 1) == '\'') {
+                    value.append(c);
+                    i++;
+                } else if (c == '\'') {
+                    quoted = false;
+                } else {
+                    value.append(c);
+                }
+            } else if (c == '\'') {
+                if (literal || value.length() > 0) return null;
+                quoted = true;
+                literal = true;
+            } else if (c == ',') {
+                if (!addParameter(parameters, value.toString(), literal)) return null;
+                value.setLength(0);
+                literal = false;
+            } else if (!Character.isWhitespace(c)) {
+                if (literal) return null;
+                value.append(c);
+            }
+        }
+        if (quoted || !addParameter(parameters, value.toString(), literal)) return null;
+        return parameters.toArray();
     }
 
     /**
-     * Loads all the database data into memory.
+     * Adds a single SQL value to the statement parameters.
+     *
+     * @param parameters - The statement parameters being built.
+     * @param value      - The SQL value, without surrounding quotes.
+     * @param literal    - If the value was quoted.
+     * @return If the value could be bound as a parameter.
+     */
+    private static boolean addParameter(final @Nonnull List<Object> parameters, final @Nonnull String value, final boolean literal) {
+        if (literal) {
+            parameters.add(value);
+        } else if (value.equalsIgnoreCase("NULL")) {
+            parameters.add(null);
+        } else if (NUMERIC.matcher(value).matches()) {
+            try {
+                parameters.add(Long.parseLong(value));
+            } catch (NumberFormatException e) {
+                parameters.add(Double.parseDouble(value));
+            }
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Creates a list of statement placeholders such as {@code ?, ?, ?}.
+     *
+     * @param count - The number of placeholders.
+     * @return The list of placeholders.
+     */
+    static @Nonnull String toPlaceholders(final int count) {
+        final StringBuilder placeholders = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            placeholders.append(i == 0 ? "?" : ", ?");
+        }
+        return placeholders.toString();
+    }
+
+    /**
+     * Loads all the database data into memory, indexing each table by the identity of its rows.
      */
     private void loadData() {
         if (!Core.getCore().getPlugin().isEnabled()) return;
-        this.databaseData = Core.getCore().getData().getDatabaseData();
+        final Map<String, TableCache> databaseData = new ConcurrentHashMap<>();
+        try {
+            for (final Map.Entry<String, List<Object>> table : Core.getCore().getData().getDatabaseData().entrySet()) {
+                final TableCache tableCache = new TableCache();
+                for (final Object dataObject : table.getValue()) {
+                    tableCache.add(dataObject);
+                }
+                databaseData.put(table.getKey(), tableCache);
+            }
+        } catch (Exception e) {
+            ServerUtils.sendSevereTrace(e);
+        }
+        this.databaseData = databaseData;
     }
 
     /**
-     * Creates the missing database tables.
+     * Creates the missing database tables and applies the pending schema migrations.
      */
     public void createTables() {
-        Core.getCore().getData().getCreateTables().run();
-        Core.getCore().getData().getAlterTables().run();
+        new SchemaMigrator().migrate();
     }
 
     /**
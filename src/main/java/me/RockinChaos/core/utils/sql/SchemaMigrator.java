@@ -0,0 +1,157 @@
+/*
+ * ChaosCore
+ * Copyright (C) CraftationGaming <https://www.craftationgaming.com/>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package me.RockinChaos.core.utils.sql;
+
+import me.RockinChaos.core.Core;
+import me.RockinChaos.core.CoreData;
+import me.RockinChaos.core.utils.ServerUtils;
+
+import javax.annotation.Nonnull;
+import java.util.*;
+
+/**
+ * Brings the database schema up to date.
+ * Applied migrations and indexes are recorded in the schema history table, which is read with a single query on startup,
+ * so once a plugin registers migrations or indexed data classes a warm start of an unchanged tables version executes no existence checks and no DDL.
+ * Plugins registering neither still run their create and alter table runnables, and the existence checks within them, on every start.
+ * <p>
+ * Pending steps are executed as a single transaction on SQLite.
+ * MySQL implicitly commits every DDL statement, so each step is executed and recorded on its own, allowing a failed migration to resume from the step that failed.
+ */
+class SchemaMigrator {
+    private static final String HISTORY_TABLE = "schema_history";
+
+    /**
+     * Applies the pending migrations and indexes.
+     * The create and alter table runnables are run when no migrations are registered,
+     * or once for every tables version under the schema history, defaulting to the plugin version,
+     * so that existing tables are brought up to date before the first migration and tables added by a plugin update are created.
+     */
+    void migrate() {
+        final CoreData data = Core.getCore().getData();
+        if (data.getMigrations().isEmpty() && data.getDataClasses().isEmpty()) {
+            data.getCreateTables().run();
+            data.getAlterTables().run();
+            return;
+        }
+        final Database database = Database.getDatabase();
+        final String history = data.getTablePrefix() + HISTORY_TABLE;
+        database.executeStatement("CREATE TABLE IF NOT EXISTS " + history + " (Applied_Key VARCHAR(191) NOT NULL, Description VARCHAR(255), Applied_At BIGINT, PRIMARY KEY (Applied_Key))");
+        final Set<String> applied = new HashSet<>();
+        for (final Object key : database.queryRow("SELECT Applied_Key FROM " + history, "Applied_Key")) {
+            applied.add(String.valueOf(key));
+        }
+        final List<List<BatchQueue.Write>> steps = new ArrayList<>();
+        final String tablesVersion = (data.getTablesVersion() != null ? data.getTablesVersion() : Core.getCore().getPlugin().getDescription().getVersion());
+        final String tablesKey = "tables:" + tablesVersion;
+        if (!applied.contains(tablesKey)) {
+            data.getCreateTables().run();
+            data.getAlterTables().run();
+            steps.add(Collections.singletonList(this.record(history, tablesKey, "Create and alter tables for version " + tablesVersion)));
+        } else {
+            ServerUtils.logDebug("{SQL} Skipped the create and alter table runnables, they were already run for version " + tablesVersion + ".");
+        }
+        int version = 0;
+        final List<Migration> migrations = new ArrayList<>(data.getMigrations());
+        migrations.sort(Comparator.comparingInt(Migration::getVersion));
+        for (final Migration migration : migrations) {
+            final String key = "version:" + migration.getVersion();
+            if (applied.contains(key)) {
+                version = migration.getVersion();
+                continue;
+            }
+            final List<BatchQueue.Write> step = new ArrayList<>();
+            for (final String statement : migration.getStatements()) {
+                step.add(new BatchQueue.Write(history, statement.replace("%prefix%", data.getTablePrefix()), null));
+            }
+            step.add(this.record(history, key, migration.getDescription()));
+            steps.add(step);
+        }
+        for (final Class<?> dataClass : data.getDataClasses()) {
+            final TableIndex tableIndex = dataClass.getAnnotation(TableIndex.class);
+            if (tableIndex == null) {
+                ServerUtils.logDebug("{SQL} The data class " + dataClass.getName() + " does not declare any table indexes.");
+                continue;
+            }
+            final String table = data.getTablePrefix() + tableIndex.table();
+            for (final String columns : tableIndex.columns()) {
+                final String name = (table + "_" + columns.replaceAll("[^A-Za-z0-9]+", "_")).toLowerCase(Locale.ROOT);
+                final String key = "index:" + name;
+                if (applied.add(key)) {
+                    final BatchQueue.Write record = this.record(history, key, "Index " + columns + " on " + table);
+                    if (data.sqlEnabled() && this.indexExists(database, table, name)) {
+                        steps.add(Collections.singletonList(record));
+                    } else {
+                        final String statement = (data.sqlEnabled() ? "CREATE INDEX " : "CREATE INDEX IF NOT EXISTS ") + name + " ON " + table + " (" + columns + ")";
+                        steps.add(Arrays.asList(new BatchQueue.Write(history, statement, null), record));
+                    }
+                }
+            }
+        }
+        if (steps.isEmpty()) {
+            ServerUtils.logDebug("{SQL} Database schema is up to date at version " + version + ".");
+            return;
+        }
+        final int applying = steps.size();
+        int completed = 0;
+        if (data.sqlEnabled()) {
+            for (final List<BatchQueue.Write> step : steps) {
+                if (!database.executeBatch(step)) {
+                    break;
+                }
+                completed++;
+            }
+        } else {
+            final List<BatchQueue.Write> transaction = new ArrayList<>();
+            for (final List<BatchQueue.Write> step : steps) {
+                transaction.addAll(step);
+            }
+            completed = database.executeBatch(transaction) ? applying : 0;
+        }
+        if (completed < applying) {
+            ServerUtils.logSevere("{SQL} Failed to migrate the database schema, " + (applying - completed) + " of " + applying + " pending step(s) were not applied and will be retried on the next start.");
+        } else {
+            ServerUtils.logDebug("{SQL} Applied " + applying + " pending schema step(s).");
+        }
+    }
+
+    /**
+     * Checks if the MySQL index already exists, such as one left by an earlier run that failed before it was recorded or one created by hand.
+     * MySQL has no CREATE INDEX IF NOT EXISTS, so existing indexes are only recorded instead of created.
+     *
+     * @param database - The database being migrated.
+     * @param table    - The name of the table, including the table prefix.
+     * @param name     - The name of the index.
+     * @return If the index exists.
+     */
+    private boolean indexExists(final @Nonnull Database database, final @Nonnull String table, final @Nonnull String name) {
+        return database.dataExists("SELECT 1 FROM information_schema.statistics WHERE table_schema = DATABASE() AND table_name = ? AND index_name = ?", table, name);
+    }
+
+    /**
+     * Creates the schema history record of an applied step.
+     *
+     * @param history     - The name of the schema history table.
+     * @param key         - The key of the applied step.
+     * @param description - The description of the applied step.
+     * @return The write recording the step.
+     */
+    private @Nonnull BatchQueue.Write record(final @Nonnull String history, final @Nonnull String key, final @Nonnull String description) {
+        return new BatchQueue.Write(history, "INSERT INTO " + history + " (Applied_Key, Description, Applied_At) VALUES (?, ?, ?)", new Object[] { key, description, System.currentTimeMillis() });
+    }
+}
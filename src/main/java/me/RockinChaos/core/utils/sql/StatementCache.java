@@ -0,0 +1,155 @@
+/*
+ * ChaosCore
+ * Copyright (C) CraftationGaming <https://www.craftationgaming.com/>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package me.RockinChaos.core.utils.sql;
+
+import me.RockinChaos.core.utils.ServerUtils;
+
+import javax.annotation.Nonnull;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A least-recently-used cache of PreparedStatements for a single Connection.
+ * Statements are checked out while in use so that threads sharing a Connection never bind parameters on the same statement,
+ * and are handed back once their ResultSet has been consumed.
+ */
+class StatementCache {
+    static final int DEFAULT_SIZE = 64;
+
+    private final Connection connection;
+    private final Map<PreparedStatement, String> borrowed = new IdentityHashMap<>();
+    private final LinkedHashMap<String, PreparedStatement> idle;
+    private boolean closed = false;
+
+    /**
+     * Creates a new StatementCache.
+     *
+     * @param connection - The connection the statements are prepared on.
+     * @param size       - The maximum number of idle statements kept open.
+     */
+    StatementCache(final @Nonnull Connection connection, final int size) {
+        this.connection = connection;
+        this.idle = new LinkedHashMap<String, PreparedStatement>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, PreparedStatement> eldest) {
+                if (this.size() > size) {
+                    closeQuietly(eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Checks out a PreparedStatement for the specified SQL, preparing it if it is not cached.
+     *
+     * @param sql - The SQL statement to be prepared.
+     * @return The PreparedStatement.
+     */
+    synchronized @Nonnull PreparedStatement acquire(final @Nonnull String sql) throws SQLException {
+        PreparedStatement ps = this.idle.remove(sql);
+        if (ps == null || ps.isClosed()) {
+            ps = this.connection.prepareStatement(sql);
+        }
+        this.borrowed.put(ps, sql);
+        return ps;
+    }
+
+    /**
+     * Hands back a checked out PreparedStatement so it can be reused.
+     *
+     * @param ps - The PreparedStatement being handed back.
+     * @return If the PreparedStatement belonged to this cache.
+     */
+    synchronized boolean release(final @Nonnull PreparedStatement ps) {
+        final String sql = this.borrowed.remove(ps);
+        if (sql == null) {
+            return false;
+        }
+        try {
+            if (ps.isClosed()) {
+                return true;
+            }
+            ps.clearParameters();
+            ps.clearBatch();
+            if (this.closed || this.idle.containsKey(sql)) {
+                closeQuietly(ps);
+            } else {
+                this.idle.put(sql, ps);
+            }
+        } catch (SQLException e) {
+            closeQuietly(ps);
+        }
+        return true;
+    }
+
+    /**
+     * Closes a checked out PreparedStatement instead of handing it back.
+     *
+     * @param ps - The PreparedStatement being discarded.
+     * @return If the PreparedStatement belonged to this cache.
+     */
+    synchronized boolean discard(final @Nonnull PreparedStatement ps) {
+        if (this.borrowed.remove(ps) == null) {
+            return false;
+        }
+        closeQuietly(ps);
+        return true;
+    }
+
+    /**
+     * Gets the Connection the statements are prepared on.
+     *
+     * @return The Connection of this cache.
+     */
+    @Nonnull Connection getConnection() {
+        return this.connection;
+    }
+
+    /**
+     * Closes all idle statements.
+     * Checked out statements are closed as they are handed back.
+     */
+    synchronized void close() {
+        this.closed = true;
+        final Iterator<PreparedStatement> iterator = this.idle.values().iterator();
+        while (iterator.hasNext()) {
+            closeQuietly(iterator.next());
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Closes the PreparedStatement, ignoring any failure.
+     *
+     * @param ps - The PreparedStatement being closed.
+     */
+    private static void closeQuietly(final @Nonnull PreparedStatement ps) {
+        try {
+            ps.close();
+        } catch (SQLException e) {
+            ServerUtils.logDebug("{SQL} Failed to close a cached statement: " + e.getMessage());
+        }
+    }
+}
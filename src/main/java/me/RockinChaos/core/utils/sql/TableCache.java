@@ -0,0 +1,210 @@
+/*
+ * ChaosCore
+ * Copyright (C) CraftationGaming <https://www.craftationgaming.com/>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package me.RockinChaos.core.utils.sql;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The in-memory rows of a single database table.
+ * Rows are indexed by their identity, the values returned by {@code getRemovalValues},
+ * so that lookups of a complete identity no longer scan the whole table.
+ * Secondary indexes on any accessor of the data object are built the first time they are queried.
+ * <p>
+ * Rows are keyed by their values when added, a row modified afterwards is still found by reference when it is removed.
+ * <p>
+ * Reads are lock-free, indexes are concurrent maps of copy-on-write buckets.
+ * Writes are serialized per table so that the identity and secondary indexes are always updated together.
+ */
+class TableCache {
+    private static final Object NULL_KEY = new Object();
+    private final Map<String, List<Object>> rows = new ConcurrentHashMap<>();
+    private final Map<String, Map<Object, List<Object>>> indexes = new ConcurrentHashMap<>();
+    private final AtomicInteger size = new AtomicInteger();
+
+    /**
+     * Adds a row to the table.
+     *
+     * @param row - The data object being added.
+     */
+    synchronized void add(final @Nonnull Object row) {
+        this.rows.computeIfAbsent(identityOf(row), key -> new CopyOnWriteArrayList<>()).add(row);
+        for (final Map.Entry<String, Map<Object, List<Object>>> index : this.indexes.entrySet()) {
+            index.getValue().computeIfAbsent(valueOf(row, index.getKey()), key -> new CopyOnWriteArrayList<>()).add(row);
+        }
+        this.size.incrementAndGet();
+    }
+
+    /**
+     * Removes the exact row instance from the table.
+     *
+     * @param row - The data object being removed.
+     * @return If the row was removed.
+     */
+    synchronized boolean remove(final @Nonnull Object row) {
+        if (!removeFrom(this.rows, identityOf(row), row) && !removeAny(this.rows, row)) {
+            return false;
+        }
+        for (final Map.Entry<String, Map<Object, List<Object>>> index : this.indexes.entrySet()) {
+            if (!removeFrom(index.getValue(), valueOf(row, index.getKey()), row)) {
+                removeAny(index.getValue(), row);
+            }
+        }
+        this.size.decrementAndGet();
+        return true;
+    }
+
+    /**
+     * Finds the rows sharing the identity of the specified data object.
+     *
+     * @param object - The data object being looked up.
+     * @return A copy of the matching rows.
+     */
+    @Nonnull List<Object> find(final @Nonnull Object object) {
+        final List<Object> bucket = this.rows.get(identityOf(object));
+        return bucket != null ? new ArrayList<>(bucket) : Collections.emptyList();
+    }
+
+    /**
+     * Finds the rows whose accessor returns the specified value, building the secondary index if necessary.
+     *
+     * @param accessor - The name of the no-argument method of the data object being indexed.
+     * @param value    - The value being looked up.
+     * @return A copy of the matching rows.
+     */
+    @Nonnull List<Object> lookup(final @Nonnull String accessor, final @Nullable Object value) {
+        Map<Object, List<Object>> index = this.indexes.get(accessor);
+        if (index == null) {
+            index = this.createIndex(accessor);
+        }
+        final List<Object> bucket = index.get(value != null ? value : NULL_KEY);
+        return bucket != null ? new ArrayList<>(bucket) : Collections.emptyList();
+    }
+
+    /**
+     * Builds the secondary index of the accessor, unless another thread already built it.
+     *
+     * @param accessor - The name of the no-argument method of the data object being indexed.
+     * @return The secondary index.
+     */
+    private synchronized @Nonnull Map<Object, List<Object>> createIndex(final @Nonnull String accessor) {
+        Map<Object, List<Object>> index = this.indexes.get(accessor);
+        if (index == null) {
+            index = new ConcurrentHashMap<>();
+            for (final List<Object> bucket : this.rows.values()) {
+                for (final Object row : bucket) {
+                    index.computeIfAbsent(valueOf(row, accessor), key -> new CopyOnWriteArrayList<>()).add(row);
+                }
+            }
+            this.indexes.put(accessor, index);
+        }
+        return index;
+    }
+
+    /**
+     * Gets all rows of the table.
+     *
+     * @return A copy of all rows.
+     */
+    @Nonnull List<Object> rows() {
+        final List<Object> rows = new ArrayList<>(this.size.get());
+        for (final List<Object> bucket : this.rows.values()) {
+            rows.addAll(bucket);
+        }
+        return rows;
+    }
+
+    /**
+     * Checks if the table has no rows.
+     *
+     * @return If the table is empty.
+     */
+    boolean isEmpty() {
+        return this.size.get() == 0;
+    }
+
+    /**
+     * Removes the exact row instance from the bucket of the specified key.
+     *
+     * @param map - The index being modified.
+     * @param key - The key of the bucket.
+     * @param row - The row being removed.
+     * @return If the row was found.
+     */
+    private static <K> boolean removeFrom(final @Nonnull Map<K, List<Object>> map, final @Nonnull K key, final @Nonnull Object row) {
+        final List<Object> bucket = map.get(key);
+        if (bucket == null) {
+            return false;
+        }
+        for (int i = 0; i < bucket.size(); i++) {
+            if (bucket.get(i) == row) {
+                bucket.remove(i);
+                if (bucket.isEmpty()) {
+                    map.remove(key);
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Removes the exact row instance from whichever bucket holds it, for rows modified since they were added.
+     *
+     * @param map - The index being modified.
+     * @param row - The row being removed.
+     * @return If the row was found.
+     */
+    private static <K> boolean removeAny(final @Nonnull Map<K, List<Object>> map, final @Nonnull Object row) {
+        for (final Map.Entry<K, List<Object>> bucket : map.entrySet()) {
+            if (removeFrom(map, bucket.getKey(), row)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the identity of the data object.
+     *
+     * @param object - The data object.
+     * @return The identity of the data object.
+     */
+    private static @Nonnull String identityOf(final @Nonnull Object object) {
+        return String.valueOf(DataAccessor.of(object).getRemovalValues(object));
+    }
+
+    /**
+     * Gets the value of an accessor of the data object.
+     *
+     * @param object   - The data object.
+     * @param accessor - The name of the no-argument method being invoked.
+     * @return The value returned by the accessor, null values are replaced by a placeholder key.
+     */
+    private static @Nonnull Object valueOf(final @Nonnull Object object, final @Nonnull String accessor) {
+        final Object value = DataAccessor.of(object).get(object, accessor);
+        return value != null ? value : NULL_KEY;
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * ChaosCore
+ * Copyright (C) CraftationGaming <https://www.craftationgaming.com/>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package me.RockinChaos.core.utils.sql;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares the indexes of the table a data class is stored in.
+ * Data classes are registered through {@link me.RockinChaos.core.CoreData#addDataClasses(Class[])},
+ * their indexes are created by the schema migration the first time they are seen and recorded in the schema history.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface TableIndex {
+
+    /**
+     * Gets the name of the table, without the table prefix.
+     *
+     * @return The name of the table.
+     */
+    String table();
+
+    /**
+     * Gets the indexes of the table, each entry being the comma separated columns of a single index.
+     *
+     * @return The indexed columns.
+     */
+    String[] columns();
+}